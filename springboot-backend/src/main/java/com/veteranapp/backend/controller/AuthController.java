@@ -5,17 +5,25 @@ import com.veteranapp.backend.dto.LoginRequest;
 import com.veteranapp.backend.dto.LoginResponse;
 import com.veteranapp.backend.model.Organization;
 import com.veteranapp.backend.model.User;
+import com.veteranapp.backend.security.AuthenticatedUser;
 import com.veteranapp.backend.security.JwtUtil;
+import com.veteranapp.backend.security.PasswordVerifier;
+import com.veteranapp.backend.security.RefreshTokenRegistry;
+import com.veteranapp.backend.security.TokenClaims;
 import com.veteranapp.backend.service.DataService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/auth")
@@ -27,41 +35,52 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private PasswordVerifier passwordVerifier;
+
+    @Autowired
+    private RefreshTokenRegistry refreshTokenRegistry;
+
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(@RequestBody LoginRequest request) {
+        // Unknown usernames are checked against a dummy hash, so the response time does not reveal them
         Optional<User> userOpt = dataService.findUserByUsername(request.getUsername());
-        
-        if (userOpt.isEmpty()) {
+        CompletableFuture<Boolean> verified;
+        try {
+            verified = passwordVerifier.verify(request.getPassword(), userOpt.map(User::getPassword).orElse(null));
+        } catch (RejectedExecutionException e) {
             LoginResponse response = new LoginResponse();
             response.setSuccess(false);
-            response.setMessage("Invalid username or password");
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+            response.setMessage("Too many login attempts, please retry shortly");
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1").body(response));
         }
-
-        User user = userOpt.get();
         
-        // NOTE: Plain text password comparison for development/mock data only
-        // For production: use passwordEncoder.matches(request.getPassword(), user.getPassword())
-        // and store passwords hashed with BCrypt
-        if (!user.getPassword().equals(request.getPassword())) {
-            LoginResponse response = new LoginResponse();
-            response.setSuccess(false);
-            response.setMessage("Invalid username or password");
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
-        }
+        return verified.thenApply(matches -> {
+            if (!matches) {
+                LoginResponse response = new LoginResponse();
+                response.setSuccess(false);
+                response.setMessage("Invalid username or password");
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+            }
 
-        // Generate tokens
-        String accessToken = jwtUtil.generateAccessToken(user.getUsername(), user.getId());
-        String refreshToken = jwtUtil.generateRefreshToken(user.getUsername(), user.getId());
+            User user = userOpt.get();
+            passwordVerifier.rehashIfNeeded(request.getPassword(), user.getPassword(),
+                    hash -> dataService.updateUserPassword(user.getId(), hash));
 
-        LoginResponse response = new LoginResponse();
-        response.setSuccess(true);
-        response.setMessage("Login successful");
-        response.setUser(LoginResponse.UserDto.fromUser(user));
-        response.setAccessToken(accessToken);
-        response.setRefreshToken(refreshToken);
+            // Generate tokens
+            String accessToken = jwtUtil.generateAccessToken(user.getUsername(), user.getId());
+            String refreshToken = jwtUtil.generateRefreshToken(user.getUsername(), user.getId());
 
-        return ResponseEntity.ok(response);
+            LoginResponse response = new LoginResponse();
+            response.setSuccess(true);
+            response.setMessage("Login successful");
+            response.setUser(LoginResponse.UserDto.fromUser(user));
+            response.setAccessToken(accessToken);
+            response.setRefreshToken(refreshToken);
+
+            return ResponseEntity.ok(response);
+        });
     }
 
     @PostMapping("/forgot-password")
@@ -74,29 +93,24 @@ public class AuthController {
 
     @GetMapping("/organizations")
     public ResponseEntity<Map<String, Object>> getOrganizations(
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
         
-        // Extract user from token (simplified for mock data)
+        // The user is resolved by JwtAuthenticationFilter
         Map<String, Object> response = new HashMap<>();
         
+        if (authenticatedUser != null) {
+            List<Organization> userOrgs = dataService.getOrganizationsByIds(
+                    authenticatedUser.getUser().getOrganizationIds());
+            response.put("success", true);
+            response.put("organizations", userOrgs);
+            return ResponseEntity.ok(response);
+        }
+        
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
-            try {
-                String username = jwtUtil.extractUsername(token);
-                Optional<User> userOpt = dataService.findUserByUsername(username);
-                
-                if (userOpt.isPresent()) {
-                    User user = userOpt.get();
-                    List<Organization> userOrgs = dataService.getOrganizationsByIds(user.getOrganizationIds());
-                    response.put("success", true);
-                    response.put("organizations", userOrgs);
-                    return ResponseEntity.ok(response);
-                }
-            } catch (Exception e) {
-                response.put("success", false);
-                response.put("message", "Invalid token");
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
-            }
+            response.put("success", false);
+            response.put("message", "Invalid token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
         }
         
         response.put("success", false);
@@ -107,31 +121,26 @@ public class AuthController {
     @PostMapping("/switch-organization")
     public ResponseEntity<Map<String, Object>> switchOrganization(
             @RequestBody Map<String, String> request,
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
         
         Map<String, Object> response = new HashMap<>();
         String organizationId = request.get("organizationId");
         
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
-            try {
-                String username = jwtUtil.extractUsername(token);
-                Optional<User> userOpt = dataService.findUserByUsername(username);
-                
-                if (userOpt.isPresent() && userOpt.get().getOrganizationIds().contains(organizationId)) {
-                    Optional<Organization> orgOpt = dataService.getOrganizationById(organizationId);
-                    if (orgOpt.isPresent()) {
-                        response.put("success", true);
-                        response.put("message", "Organization switched successfully");
-                        response.put("currentOrganizationId", organizationId);
-                        response.put("organization", orgOpt.get());
-                        return ResponseEntity.ok(response);
-                    }
-                }
-            } catch (Exception e) {
-                response.put("success", false);
-                response.put("message", "Invalid token");
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        if (authenticatedUser == null && authHeader != null && authHeader.startsWith("Bearer ")) {
+            response.put("success", false);
+            response.put("message", "Invalid token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+        
+        if (authenticatedUser != null && authenticatedUser.canAccess(organizationId)) {
+            Optional<Organization> orgOpt = dataService.getOrganizationById(organizationId);
+            if (orgOpt.isPresent()) {
+                response.put("success", true);
+                response.put("message", "Organization switched successfully");
+                response.put("currentOrganizationId", organizationId);
+                response.put("organization", orgOpt.get());
+                return ResponseEntity.ok(response);
             }
         }
         
@@ -140,6 +149,10 @@ public class AuthController {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token. The used
+     * refresh token is revoked, so each one works once.
+     */
     @PostMapping("/refresh")
     public ResponseEntity<Map<String, Object>> refreshToken(@RequestBody Map<String, String> request) {
         String refreshToken = request.get("refreshToken");
@@ -152,16 +165,23 @@ public class AuthController {
         }
         
         try {
-            String username = jwtUtil.extractUsername(refreshToken);
+            // Parsing verifies the signature and expiry, so no separate validation pass is needed
+            TokenClaims claims = jwtUtil.parseToken(refreshToken);
+            String tokenId = claims.getTokenId();
+            String username = claims.getUsername();
             Optional<User> userOpt = dataService.findUserByUsername(username);
             
-            if (userOpt.isPresent() && jwtUtil.validateToken(refreshToken, username)) {
+            // revoke() fails if a concurrent refresh with the same token won
+            if (claims.isRefreshToken() && tokenId != null && !refreshTokenRegistry.isRevoked(tokenId) && userOpt.isPresent()
+                    && refreshTokenRegistry.revoke(tokenId, claims.getExpiration())) {
                 User user = userOpt.get();
                 String newAccessToken = jwtUtil.generateAccessToken(username, user.getId());
+                String newRefreshToken = jwtUtil.generateRefreshToken(username, user.getId());
                 
                 response.put("success", true);
                 response.put("message", "Token refreshed successfully");
                 response.put("accessToken", newAccessToken);
+                response.put("refreshToken", newRefreshToken);
                 return ResponseEntity.ok(response);
             }
         } catch (Exception e) {
@@ -174,4 +194,27 @@ public class AuthController {
         response.put("message", "Invalid refresh token");
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse> logout(@RequestBody Map<String, String> request) {
+        String refreshToken = request.get("refreshToken");
+        if (refreshToken == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse(false, "Refresh token required"));
+        }
+        
+        try {
+            TokenClaims claims = jwtUtil.parseToken(refreshToken);
+            if (claims.isRefreshToken() && claims.getTokenId() != null) {
+                refreshTokenRegistry.revoke(claims.getTokenId(), claims.getExpiration());
+                return ResponseEntity.ok(new ApiResponse(true, "Logged out"));
+            }
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse(false, "Invalid refresh token"));
+        }
+        
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ApiResponse(false, "Invalid refresh token"));
+    }
 }
@@ -1,13 +1,14 @@
 package com.veteranapp.backend.controller;
 
-import com.veteranapp.backend.model.Constitution;
 import com.veteranapp.backend.service.DataService;
+import com.veteranapp.backend.service.SerializedDocument;
+import com.veteranapp.backend.service.SerializedDocumentCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.Optional;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/constitution")
@@ -16,16 +17,31 @@ public class ConstitutionController {
     @Autowired
     private DataService dataService;
 
+    @Autowired
+    private SerializedDocumentCache documentCache;
+
     @GetMapping
-    public ResponseEntity<Constitution> getConstitution(
-            @RequestHeader(value = "X-Organization-ID", required = false) String organizationId) {
+    public ResponseEntity<byte[]> getConstitution(
+            @RequestHeader(value = "X-Organization-ID", required = false) String organizationId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
         
         if (organizationId == null || organizationId.isEmpty()) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
         
-        Optional<Constitution> constitution = dataService.getConstitutionByOrganization(organizationId);
-        return constitution.map(ResponseEntity::ok)
-                          .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        long version = dataService.getOrganizationVersion(organizationId);
+        String eTag = OrganizationETags.forVersion(dataService, organizationId, version);
+        if (DocumentResponses.checkNotModified(webRequest, eTag, acceptEncoding)) {
+            return null;
+        }
+        
+        // Constitutions rarely change, so they are serialized once per organization version
+        SerializedDocument constitution = documentCache.get("constitution", organizationId, "", version,
+                () -> dataService.getConstitutionByOrganization(organizationId).orElse(null));
+        if (constitution == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return DocumentResponses.of(constitution, eTag, acceptEncoding);
     }
 }
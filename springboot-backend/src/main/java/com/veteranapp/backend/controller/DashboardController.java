@@ -0,0 +1,32 @@
+package com.veteranapp.backend.controller;
+
+import com.veteranapp.backend.dto.DashboardResponse;
+import com.veteranapp.backend.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/dashboard")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    /**
+     * News, officials, current hosting schedule, meetings and the current soccer match in
+     * one response. Sections that could not be loaded in time are null and listed in
+     * {@code unavailableSections}.
+     */
+    @GetMapping
+    public ResponseEntity<DashboardResponse> getDashboard(
+            @RequestHeader(value = "X-Organization-ID", required = false) String organizationId) {
+        
+        if (organizationId == null || organizationId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        
+        return ResponseEntity.ok(dashboardService.getDashboard(organizationId));
+    }
+}
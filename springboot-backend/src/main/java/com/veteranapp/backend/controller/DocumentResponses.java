@@ -0,0 +1,118 @@
+package com.veteranapp.backend.controller;
+
+import com.veteranapp.backend.service.SerializedDocument;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Locale;
+
+/**
+ * Writes pre-serialized JSON documents straight to the response, bypassing Jackson,
+ * and serves the pre-gzipped copy to clients that accept it. The gzipped body is a
+ * different representation, so its strong ETag carries a {@code -gzip} suffix.
+ *
+ * {@code If-None-Match} is checked with {@link #checkNotModified} before the document is
+ * fetched, so a revalidation never serializes or compresses anything.
+ */
+final class DocumentResponses {
+
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    private DocumentResponses() {
+    }
+
+    /**
+     * Adds the {@code Vary} headers and answers {@code 304} when {@code If-None-Match} names
+     * the plain ETag or, for a client that accepts gzip, the gzip ETag. Whether a gzipped
+     * copy exists is only known once the document is at hand, so such a client may hold either.
+     */
+    static boolean checkNotModified(WebRequest webRequest, String eTag, String acceptEncoding) {
+        if (webRequest instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            servletRequest.getResponse().addHeader(HttpHeaders.VARY, OrganizationETags.VARY);
+        }
+        String ifNoneMatch = webRequest.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String gzipETag = withSuffix(eTag, GZIP_SUFFIX);
+        if (acceptsGzip(acceptEncoding) && matches(ifNoneMatch, gzipETag)) {
+            return webRequest.checkNotModified(gzipETag);
+        }
+        // Only a matching ETag is handed to the request, which would otherwise label the 200 with it
+        return matches(ifNoneMatch, eTag) && webRequest.checkNotModified(eTag);
+    }
+
+    /**
+     * Returns the document, labelled with the ETag of the representation this client receives.
+     */
+    static ResponseEntity<byte[]> of(SerializedDocument document, String eTag, String acceptEncoding) {
+        boolean gzip = document.hasGzippedJson() && acceptsGzip(acceptEncoding);
+        String representationETag = gzip ? withSuffix(eTag, GZIP_SUFFIX) : eTag;
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(representationETag);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(document.getGzippedJson());
+        }
+        return builder.body(document.getJson());
+    }
+
+    /**
+     * Whether {@code Accept-Encoding} allows gzip: listed explicitly or through {@code *}
+     * with a non-zero quality. An explicit {@code gzip;q=0} refuses it.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] params = coding.split(";");
+            String name = params[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzip = quality;
+            } else if (name.equals("*")) {
+                any = quality;
+            }
+        }
+        double quality = gzip != null ? gzip : any != null ? any : 0;
+        return quality > 0;
+    }
+
+    // Whether an If-None-Match list names the ETag, by weak comparison as for GET and HEAD
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Inserts the suffix inside the quotes of a strong ETag
+    private static String withSuffix(String eTag, String suffix) {
+        return eTag.endsWith("\"")
+                ? eTag.substring(0, eTag.length() - 1) + suffix + "\""
+                : eTag + suffix;
+    }
+}
@@ -1,16 +1,24 @@
 package com.veteranapp.backend.controller;
 
 import com.veteranapp.backend.dto.ApiResponse;
+import com.veteranapp.backend.dto.BulkPaymentRequest;
+import com.veteranapp.backend.dto.PaymentUpdateResult;
 import com.veteranapp.backend.model.HostingSchedule;
 import com.veteranapp.backend.model.Member;
 import com.veteranapp.backend.service.DataService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/hosting")
@@ -19,6 +27,9 @@ public class HostingController {
     @Autowired
     private DataService dataService;
 
+    @Value("${hosting.mark-payments.max-batch-size:500}")
+    private int maxBatchSize;
+
     @GetMapping("/current")
     public ResponseEntity<HostingSchedule> getCurrentHosting(
             @RequestHeader(value = "X-Organization-ID", required = false) String organizationId) {
@@ -72,4 +83,57 @@ public class HostingController {
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(new ApiResponse(false, "Member not found"));
     }
+
+    /**
+     * Reconciles payments for many members of one organization in a single request and a
+     * single store write. Returns one result per submitted item, in request order.
+     */
+    @PostMapping("/mark-payments")
+    public ResponseEntity<ApiResponse> markPayments(@RequestBody BulkPaymentRequest request) {
+        String organizationId = request.getOrganizationId();
+        List<BulkPaymentRequest.PaymentUpdate> payments = request.getPayments();
+        
+        if (organizationId == null || payments == null || payments.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse(false, "Missing required fields"));
+        }
+        if (payments.size() > maxBatchSize) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse(false, "At most " + maxBatchSize + " payments per request"));
+        }
+        
+        Set<String> memberIds = new HashSet<>();
+        for (BulkPaymentRequest.PaymentUpdate payment : payments) {
+            if (payment != null && payment.getMemberId() != null && !memberIds.add(payment.getMemberId())) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(new ApiResponse(false, "Duplicate memberId: " + payment.getMemberId()));
+            }
+        }
+        
+        Map<String, Boolean> updates = new LinkedHashMap<>();
+        for (BulkPaymentRequest.PaymentUpdate payment : payments) {
+            if (payment != null && payment.getMemberId() != null && payment.getIsPaid() != null) {
+                updates.put(payment.getMemberId(), payment.getIsPaid());
+            }
+        }
+        Map<String, Member> updated = dataService.updateMemberPayments(organizationId, updates);
+        
+        List<PaymentUpdateResult> results = new ArrayList<>(payments.size());
+        for (BulkPaymentRequest.PaymentUpdate payment : payments) {
+            if (payment == null || payment.getMemberId() == null || payment.getIsPaid() == null) {
+                results.add(new PaymentUpdateResult(payment == null ? null : payment.getMemberId(),
+                        false, "Missing required fields", null));
+            } else if (updated.containsKey(payment.getMemberId())) {
+                results.add(new PaymentUpdateResult(payment.getMemberId(), true,
+                        "Payment status updated successfully", updated.get(payment.getMemberId())));
+            } else {
+                results.add(new PaymentUpdateResult(payment.getMemberId(), false, "Member not found", null));
+            }
+        }
+        
+        ApiResponse response = new ApiResponse(true,
+                updated.size() + " of " + payments.size() + " payment statuses updated");
+        response.setData(results);
+        return ResponseEntity.ok(response);
+    }
 }
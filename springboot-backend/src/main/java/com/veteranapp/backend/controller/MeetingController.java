@@ -2,13 +2,19 @@ package com.veteranapp.backend.controller;
 
 import com.veteranapp.backend.model.Meeting;
 import com.veteranapp.backend.service.DataService;
+import com.veteranapp.backend.service.OrganizationIndex;
+import com.veteranapp.backend.service.SerializedDocument;
+import com.veteranapp.backend.service.SerializedDocumentCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
 
 @RestController
 @RequestMapping("/meetings")
@@ -17,29 +23,72 @@ public class MeetingController {
     @Autowired
     private DataService dataService;
 
+    @Autowired
+    private SerializedDocumentCache documentCache;
+
     @GetMapping
-    public ResponseEntity<List<Meeting>> getMeetings(
-            @RequestHeader(value = "X-Organization-ID", required = false) String organizationId) {
+    public ResponseEntity<?> getMeetings(
+            @RequestHeader(value = "X-Organization-ID", required = false) String organizationId,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest webRequest) {
         
         if (organizationId == null || organizationId.isEmpty()) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
         
+        String eTag = OrganizationETags.of(dataService, organizationId);
+        if (OrganizationETags.checkNotModified(webRequest, eTag)) {
+            return null;
+        }
+        
+        if (from != null || to != null) {
+            // Range results are not paginated
+            if (Pagination.isRequested(limit, after)) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            }
+            return ResponseEntity.ok().eTag(eTag).body(dataService.getMeetingsBetween(organizationId, from, to));
+        }
+        
+        if (Pagination.isRequested(limit, after)) {
+            if (!Pagination.isValid(dataService, "meetings", organizationId, limit, after)) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            }
+            OrganizationIndex.Page<Meeting> page = dataService.getMeetingsPage(organizationId,
+                    Pagination.afterSequence(dataService, "meetings", organizationId, after), Pagination.limit(limit));
+            return ResponseEntity.ok().eTag(eTag)
+                    .body(Pagination.toResponse(dataService, "meetings", organizationId, page));
+        }
+        
         List<Meeting> meetings = dataService.getMeetingsByOrganization(organizationId);
-        return ResponseEntity.ok(meetings);
+        return ResponseEntity.ok().eTag(eTag).body(meetings);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Meeting> getMeetingById(
+    public ResponseEntity<byte[]> getMeetingById(
             @PathVariable String id,
-            @RequestHeader(value = "X-Organization-ID", required = false) String organizationId) {
+            @RequestHeader(value = "X-Organization-ID", required = false) String organizationId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
         
         if (organizationId == null || organizationId.isEmpty()) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
         
-        Optional<Meeting> meeting = dataService.getMeetingById(id, organizationId);
-        return meeting.map(ResponseEntity::ok)
-                      .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        long version = dataService.getOrganizationVersion(organizationId);
+        String eTag = OrganizationETags.forVersion(dataService, organizationId, version);
+        if (DocumentResponses.checkNotModified(webRequest, eTag, acceptEncoding)) {
+            return null;
+        }
+        
+        // Meeting records rarely change once held, so they are serialized once per organization version
+        SerializedDocument meeting = documentCache.get("meeting", organizationId, id, version,
+                () -> dataService.getMeetingById(id, organizationId).orElse(null));
+        if (meeting == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return DocumentResponses.of(meeting, eTag, acceptEncoding);
     }
 }
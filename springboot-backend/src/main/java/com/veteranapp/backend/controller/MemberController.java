@@ -1,11 +1,19 @@
 package com.veteranapp.backend.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.veteranapp.backend.model.Member;
 import com.veteranapp.backend.service.DataService;
+import com.veteranapp.backend.service.OrganizationIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,11 +22,53 @@ import java.util.Optional;
 @RequestMapping("/members")
 public class MemberController {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+
     @Autowired
     private DataService dataService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
-    public ResponseEntity<List<Member>> getMembers(
+    public ResponseEntity<?> getMembers(
+            @RequestHeader(value = "X-Organization-ID", required = false) String organizationId,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after,
+            WebRequest webRequest) {
+        
+        if (organizationId == null || organizationId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        
+        String eTag = OrganizationETags.of(dataService, organizationId);
+        if (OrganizationETags.checkNotModified(webRequest, eTag)) {
+            return null;
+        }
+        
+        if (Pagination.isRequested(limit, after)) {
+            if (!Pagination.isValid(dataService, "members", organizationId, limit, after)) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            }
+            OrganizationIndex.Page<Member> page = dataService.getMembersPage(organizationId,
+                    Pagination.afterSequence(dataService, "members", organizationId, after), Pagination.limit(limit));
+            return ResponseEntity.ok().eTag(eTag)
+                    .body(Pagination.toResponse(dataService, "members", organizationId, page));
+        }
+        
+        List<Member> members = dataService.getMembersByOrganization(organizationId);
+        return ResponseEntity.ok().eTag(eTag).body(members);
+    }
+
+    /**
+     * Streams the organization's full roster as newline-delimited JSON, one member per line,
+     * straight from the store snapshot so heap use does not grow with the roster size.
+     * The export is always NDJSON whatever the {@code Accept} header asks for; restricting the
+     * mapping to that type would let other requests fall through to {@code /{id}}.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportMembers(
             @RequestHeader(value = "X-Organization-ID", required = false) String organizationId) {
         
         if (organizationId == null || organizationId.isEmpty()) {
@@ -26,20 +76,46 @@ public class MemberController {
         }
         
         List<Member> members = dataService.getMembersByOrganization(organizationId);
-        return ResponseEntity.ok(members);
+        ObjectWriter writer = objectMapper.writerFor(Member.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                // Records are separated by newlines rather than the default space
+                generator.setRootValueSeparator(null);
+                int written = 0;
+                for (Member member : members) {
+                    writer.writeValue(generator, member);
+                    generator.writeRaw('\n');
+                    // Flush in batches: each flush blocks until the client drains, bounding buffered output
+                    if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(body);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Member> getMemberById(
             @PathVariable String id,
-            @RequestHeader(value = "X-Organization-ID", required = false) String organizationId) {
+            @RequestHeader(value = "X-Organization-ID", required = false) String organizationId,
+            WebRequest webRequest) {
         
         if (organizationId == null || organizationId.isEmpty()) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
         
+        String eTag = OrganizationETags.of(dataService, organizationId);
+        if (OrganizationETags.checkNotModified(webRequest, eTag)) {
+            return null;
+        }
+        
         Optional<Member> member = dataService.getMemberById(id, organizationId);
-        return member.map(ResponseEntity::ok)
+        return member.map(m -> ResponseEntity.ok().eTag(eTag).body(m))
                      .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
     }
 }
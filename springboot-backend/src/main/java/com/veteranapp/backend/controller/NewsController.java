@@ -2,11 +2,15 @@ package com.veteranapp.backend.controller;
 
 import com.veteranapp.backend.model.News;
 import com.veteranapp.backend.service.DataService;
+import com.veteranapp.backend.service.OrganizationIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -17,14 +21,42 @@ public class NewsController {
     private DataService dataService;
 
     @GetMapping
-    public ResponseEntity<List<News>> getNews(
-            @RequestHeader(value = "X-Organization-ID", required = false) String organizationId) {
+    public ResponseEntity<?> getNews(
+            @RequestHeader(value = "X-Organization-ID", required = false) String organizationId,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest webRequest) {
         
         if (organizationId == null || organizationId.isEmpty()) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
         
+        String eTag = OrganizationETags.of(dataService, organizationId);
+        if (OrganizationETags.checkNotModified(webRequest, eTag)) {
+            return null;
+        }
+        
+        if (from != null || to != null) {
+            // Range results are not paginated
+            if (Pagination.isRequested(limit, after)) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            }
+            return ResponseEntity.ok().eTag(eTag).body(dataService.getNewsBetween(organizationId, from, to));
+        }
+        
+        if (Pagination.isRequested(limit, after)) {
+            if (!Pagination.isValid(dataService, "news", organizationId, limit, after)) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            }
+            OrganizationIndex.Page<News> page = dataService.getNewsPage(organizationId,
+                    Pagination.afterSequence(dataService, "news", organizationId, after), Pagination.limit(limit));
+            return ResponseEntity.ok().eTag(eTag)
+                    .body(Pagination.toResponse(dataService, "news", organizationId, page));
+        }
+        
         List<News> news = dataService.getNewsByOrganization(organizationId);
-        return ResponseEntity.ok(news);
+        return ResponseEntity.ok().eTag(eTag).body(news);
     }
 }
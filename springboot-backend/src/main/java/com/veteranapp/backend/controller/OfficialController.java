@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,13 +19,19 @@ public class OfficialController {
 
     @GetMapping
     public ResponseEntity<List<Official>> getOfficials(
-            @RequestHeader(value = "X-Organization-ID", required = false) String organizationId) {
+            @RequestHeader(value = "X-Organization-ID", required = false) String organizationId,
+            WebRequest webRequest) {
         
         if (organizationId == null || organizationId.isEmpty()) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
         
+        String eTag = OrganizationETags.of(dataService, organizationId);
+        if (OrganizationETags.checkNotModified(webRequest, eTag)) {
+            return null;
+        }
+        
         List<Official> officials = dataService.getOfficialsByOrganization(organizationId);
-        return ResponseEntity.ok(officials);
+        return ResponseEntity.ok().eTag(eTag).body(officials);
     }
 }
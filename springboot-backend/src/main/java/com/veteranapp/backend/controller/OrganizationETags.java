@@ -0,0 +1,44 @@
+package com.veteranapp.backend.controller;
+
+import com.veteranapp.backend.service.DataService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builds strong ETags for organization-scoped resources from the organization id and its
+ * data version. The ETag must be computed before the data is read, so a concurrent write
+ * can only make it stale, never newer than the body it labels.
+ */
+final class OrganizationETags {
+
+    // The body depends on the organization header and, through access checks, on the caller
+    static final String VARY = "X-Organization-ID, Authorization";
+
+    private OrganizationETags() {
+    }
+
+    static String of(DataService dataService, String organizationId) {
+        return forVersion(dataService, organizationId, dataService.getOrganizationVersion(organizationId));
+    }
+
+    static String forVersion(DataService dataService, String organizationId, long version) {
+        // Versions are per organization, so two organizations at the same version need the id to differ
+        return "\"" + Long.toHexString(dataService.getDataEpoch()) + "-"
+                + URLEncoder.encode(organizationId, StandardCharsets.UTF_8) + "-" + version + "\"";
+    }
+
+    /**
+     * Adds the {@code Vary} header, which a {@code 304} must carry as well, and checks
+     * {@code If-None-Match} against the ETag.
+     */
+    static boolean checkNotModified(WebRequest webRequest, String eTag) {
+        if (webRequest instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().addHeader(HttpHeaders.VARY, VARY);
+        }
+        return webRequest.checkNotModified(eTag);
+    }
+}
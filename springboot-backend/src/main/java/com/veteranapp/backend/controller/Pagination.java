@@ -0,0 +1,80 @@
+package com.veteranapp.backend.controller;
+
+import com.veteranapp.backend.dto.PageResponse;
+import com.veteranapp.backend.service.DataService;
+import com.veteranapp.backend.service.OrganizationIndex;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Shared handling of the {@code limit} and {@code after} listing parameters. Cursors are
+ * opaque to clients and encode the insertion sequence of the last entity on the page.
+ *
+ * Sequences are assigned afresh when data is restored after a restart, so cursors also
+ * carry the data epoch and a cursor from an earlier run is rejected rather than
+ * silently skipping or repeating entities. Sequences are shared by all organizations and
+ * listings too, so a cursor names the listing and the organization it was issued for and
+ * is rejected anywhere else.
+ */
+final class Pagination {
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 500;
+
+    private Pagination() {
+    }
+
+    static boolean isRequested(Integer limit, String after) {
+        return limit != null || after != null;
+    }
+
+    static boolean isValid(DataService dataService, String listing, String organizationId,
+                           Integer limit, String after) {
+        return (limit == null || limit > 0)
+                && (after == null || decodeCursor(dataService, listing, organizationId, after) != null);
+    }
+
+    static int limit(Integer limit) {
+        return limit == null ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+    }
+
+    static long afterSequence(DataService dataService, String listing, String organizationId, String after) {
+        return after == null ? 0 : decodeCursor(dataService, listing, organizationId, after);
+    }
+
+    static <T> PageResponse<T> toResponse(DataService dataService, String listing, String organizationId,
+                                          OrganizationIndex.Page<T> page) {
+        String nextCursor = page.isHasMore()
+                ? encodeCursor(dataService, listing, organizationId, page.getLastSequence())
+                : null;
+        return new PageResponse<>(page.getItems(), nextCursor, page.isHasMore());
+    }
+
+    private static String encodeCursor(DataService dataService, String listing, String organizationId, long sequence) {
+        String cursor = cursorPrefix(dataService, listing, organizationId) + sequence;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // The listing is a fixed name and the organization id is URL-encoded, so neither contains ':'
+    private static String cursorPrefix(DataService dataService, String listing, String organizationId) {
+        return listing + ":" + Long.toHexString(dataService.getDataEpoch()) + ":"
+                + URLEncoder.encode(organizationId, StandardCharsets.UTF_8) + ":";
+    }
+
+    // Sequence in a cursor issued by this run for this listing and organization, or null
+    private static Long decodeCursor(DataService dataService, String listing, String organizationId, String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String prefix = cursorPrefix(dataService, listing, organizationId);
+            if (!decoded.startsWith(prefix)) {
+                return null;
+            }
+            long sequence = Long.parseLong(decoded.substring(prefix.length()));
+            return sequence < 0 ? null : sequence;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
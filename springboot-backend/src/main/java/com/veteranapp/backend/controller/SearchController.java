@@ -0,0 +1,49 @@
+package com.veteranapp.backend.controller;
+
+import com.veteranapp.backend.dto.SearchHit;
+import com.veteranapp.backend.service.DataService;
+import com.veteranapp.backend.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/search")
+public class SearchController {
+
+    static final int DEFAULT_LIMIT = 10;
+    static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private DataService dataService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @GetMapping
+    public ResponseEntity<List<SearchHit>> search(
+            @RequestHeader(value = "X-Organization-ID", required = false) String organizationId,
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            WebRequest webRequest) {
+        
+        if (organizationId == null || organizationId.isEmpty() || query == null || query.isBlank()
+                || (limit != null && limit <= 0)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        
+        // Results only change when the organization's documents do
+        String eTag = OrganizationETags.of(dataService, organizationId);
+        if (OrganizationETags.checkNotModified(webRequest, eTag)) {
+            return null;
+        }
+        
+        List<SearchHit> hits = searchService.search(organizationId, query,
+                limit == null ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT));
+        return ResponseEntity.ok().eTag(eTag).body(hits);
+    }
+}
@@ -1,29 +1,181 @@
 package com.veteranapp.backend.controller;
 
+import com.veteranapp.backend.dto.LeaderboardEntry;
 import com.veteranapp.backend.model.SoccerMatch;
 import com.veteranapp.backend.service.DataService;
+import com.veteranapp.backend.service.MatchEventSink;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/soccer")
 public class SoccerController {
 
+    private static final int MAX_LEADERBOARD_SIZE = 100;
+
     @Autowired
     private DataService dataService;
 
+    @Value("${soccer.stream.timeout:1800000}")
+    private long streamTimeout;
+
     @GetMapping("/current")
     public ResponseEntity<SoccerMatch> getCurrentMatch() {
         SoccerMatch match = dataService.getCurrentSoccerMatch();
         return ResponseEntity.ok(match);
     }
 
+    /**
+     * Live feed of the current match: a snapshot event with the full match, followed by
+     * goal, assist, yellow-card, red-card and score events as they happen.
+     */
+    @GetMapping(value = "/current/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCurrentMatch() {
+        SseEmitter emitter = new SseEmitter(streamTimeout);
+        Runnable unsubscribe = dataService.subscribeToCurrentMatch(new SseEventSink(emitter));
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+        return emitter;
+    }
+
+    @PostMapping("/current/goals")
+    public ResponseEntity<SoccerMatch> recordGoal(@RequestBody SoccerMatch.Goal goal) {
+        if (goal.getPlayerName() == null || !SoccerMatch.isSide(goal.getTeam())) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        
+        SoccerMatch match = dataService.recordGoal(goal);
+        if (match == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok(match);
+    }
+
+    @PostMapping("/current/assists")
+    public ResponseEntity<SoccerMatch> recordAssist(@RequestBody SoccerMatch.Assist assist) {
+        if (assist.getPlayerName() == null || !SoccerMatch.isSide(assist.getTeam())) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        
+        SoccerMatch match = dataService.recordAssist(assist);
+        if (match == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok(match);
+    }
+
+    @PostMapping("/current/cards")
+    public ResponseEntity<SoccerMatch> recordCard(
+            @RequestBody SoccerMatch.Card card,
+            @RequestParam(value = "color", defaultValue = "yellow") String color) {
+        
+        boolean red = "red".equals(color);
+        if (card.getPlayerName() == null || !SoccerMatch.isSide(card.getTeam())
+                || (!red && !"yellow".equals(color))) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        
+        SoccerMatch match = dataService.recordCard(card, red);
+        if (match == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok(match);
+    }
+
+    @PostMapping("/current/finish")
+    public ResponseEntity<SoccerMatch> finishCurrentMatch() {
+        SoccerMatch match = dataService.finishCurrentMatch();
+        if (match == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok(match);
+    }
+
+    /**
+     * Starts a new current match once the previous one is finished. The body gives the match
+     * day, the teams and the referees.
+     */
+    @PostMapping("/current/start")
+    public ResponseEntity<SoccerMatch> startMatch(@RequestBody SoccerMatch details) {
+        if (details.getMatchDay() == null || details.getHomeTeam() == null || details.getAwayTeam() == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        SoccerMatch match = dataService.startMatch(details);
+        if (match == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok(match);
+    }
+
     @GetMapping("/history")
     public ResponseEntity<List<SoccerMatch>> getMatchHistory() {
         List<SoccerMatch> history = dataService.getSoccerHistory();
         return ResponseEntity.ok(history);
     }
+
+    /**
+     * Player leaderboard over finished matches, e.g. {@code ?stat=goals&limit=10}.
+     */
+    @GetMapping("/statistics/players")
+    public ResponseEntity<List<LeaderboardEntry>> getTopPlayers(
+            @RequestParam(value = "stat", defaultValue = "goals") String stat,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        
+        if (limit <= 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        
+        List<LeaderboardEntry> leaderboard = dataService.getTopPlayers(stat, Math.min(limit, MAX_LEADERBOARD_SIZE));
+        if (leaderboard == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        return ResponseEntity.ok(leaderboard);
+    }
+
+    /**
+     * Team leaderboard over finished matches, e.g. {@code ?stat=wins&limit=10}.
+     */
+    @GetMapping("/statistics/teams")
+    public ResponseEntity<List<LeaderboardEntry>> getTopTeams(
+            @RequestParam(value = "stat", defaultValue = "wins") String stat,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        
+        if (limit <= 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        
+        List<LeaderboardEntry> leaderboard = dataService.getTopTeams(stat, Math.min(limit, MAX_LEADERBOARD_SIZE));
+        if (leaderboard == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        return ResponseEntity.ok(leaderboard);
+    }
+
+    private static final class SseEventSink implements MatchEventSink {
+        private final SseEmitter emitter;
+
+        private SseEventSink(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void send(long id, String type, String json) throws IOException {
+            emitter.send(SseEmitter.event().id(Long.toString(id)).name(type).data(json));
+        }
+
+        @Override
+        public void complete() {
+            emitter.complete();
+        }
+    }
 }
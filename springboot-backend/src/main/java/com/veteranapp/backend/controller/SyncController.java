@@ -0,0 +1,71 @@
+package com.veteranapp.backend.controller;
+
+import com.veteranapp.backend.dto.SyncResponse;
+import com.veteranapp.backend.service.ChangeLog;
+import com.veteranapp.backend.service.DataService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+/**
+ * Delta sync: returns the entities changed since the version token of the client's last
+ * sync. Tokens carry the data epoch, so a token from before a restart asks for a full
+ * resync instead of being matched against restarted version numbers, and the organization
+ * id, as versions are counted per organization. Versions come from the change log, so a
+ * token never names a version whose changes are not yet recorded.
+ */
+@RestController
+@RequestMapping("/sync")
+public class SyncController {
+
+    @Autowired
+    private DataService dataService;
+
+    @GetMapping
+    public ResponseEntity<SyncResponse> sync(
+            @RequestHeader(value = "X-Organization-ID", required = false) String organizationId,
+            @RequestParam(value = "since", required = false) String since) {
+        
+        if (organizationId == null || organizationId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        
+        long sinceVersion = parseToken(since, organizationId);
+        if (sinceVersion < 0) {
+            // No usable token: the client reloads everything, then syncs from the current version
+            long version = dataService.getChangeLogVersion(organizationId);
+            return ResponseEntity.ok(new SyncResponse(token(organizationId, version), true,
+                    Collections.emptyList()));
+        }
+        ChangeLog.Changes changes = dataService.getChangesSince(organizationId, sinceVersion);
+        return ResponseEntity.ok(new SyncResponse(token(organizationId, changes.getVersion()),
+                !changes.isComplete(), changes.getChanges()));
+    }
+
+    private String token(String organizationId, long version) {
+        return tokenPrefix(organizationId) + version;
+    }
+
+    private String tokenPrefix(String organizationId) {
+        return Long.toHexString(dataService.getDataEpoch()) + "-"
+                + URLEncoder.encode(organizationId, StandardCharsets.UTF_8) + "-";
+    }
+
+    // Version in a token issued by this run for this organization, or -1
+    private long parseToken(String token, String organizationId) {
+        String prefix = tokenPrefix(organizationId);
+        if (token == null || !token.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(token.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
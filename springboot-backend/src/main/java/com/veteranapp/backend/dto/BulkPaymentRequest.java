@@ -0,0 +1,24 @@
+package com.veteranapp.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPaymentRequest {
+    private String organizationId;
+    private String scheduleId;
+    private List<PaymentUpdate> payments;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PaymentUpdate {
+        private String memberId;
+        private Boolean isPaid;
+    }
+}
@@ -0,0 +1,26 @@
+package com.veteranapp.backend.dto;
+
+import com.veteranapp.backend.model.HostingSchedule;
+import com.veteranapp.backend.model.Meeting;
+import com.veteranapp.backend.model.News;
+import com.veteranapp.backend.model.Official;
+import com.veteranapp.backend.model.SoccerMatch;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardResponse {
+    private List<News> news;
+    private List<Official> officials;
+    private HostingSchedule hosting;
+    private List<Meeting> meetings;
+    private SoccerMatch soccerMatch;
+    // Sections left out of this response, mapped to "timeout", "error" or "rejected"
+    private Map<String, String> unavailableSections;
+}
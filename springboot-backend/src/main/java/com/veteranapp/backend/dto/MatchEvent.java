@@ -0,0 +1,17 @@
+package com.veteranapp.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Incremental change to the live soccer match, pushed to stream subscribers.
+ * {@code type} is one of snapshot, goal, assist, yellow-card, red-card, score or finished.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchEvent {
+    private String type;
+    private Object data;
+}
@@ -0,0 +1,16 @@
+package com.veteranapp.backend.dto;
+
+import com.veteranapp.backend.model.Member;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentUpdateResult {
+    private String memberId;
+    private Boolean success;
+    private String message;
+    private Member member;
+}
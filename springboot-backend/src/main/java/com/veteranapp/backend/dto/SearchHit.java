@@ -0,0 +1,19 @@
+package com.veteranapp.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHit {
+    // "constitution", "news" or "meeting"
+    private String type;
+    // Section number for constitution hits, meeting id for meetings, null for news
+    private String id;
+    private String title;
+    private String date;
+    private String snippet;
+    private Double score;
+}
@@ -0,0 +1,19 @@
+package com.veteranapp.backend.dto;
+
+import com.veteranapp.backend.service.ChangeLog;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponse {
+    // Token to pass as "since" on the next sync
+    private String version;
+    // True when the changes since the given token are no longer known and the client must reload
+    private Boolean fullResync;
+    private List<ChangeLog.Change> changes;
+}
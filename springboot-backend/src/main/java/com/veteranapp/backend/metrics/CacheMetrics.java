@@ -0,0 +1,55 @@
+package com.veteranapp.backend.metrics;
+
+import com.veteranapp.backend.security.VerifiedTokenCache;
+import com.veteranapp.backend.service.SerializedDocumentCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the in-memory caches under Micrometer's standard cache meter names
+ * ({@code cache.gets} by result, {@code cache.evictions}, {@code cache.size}), tagged by
+ * {@code cache}. The hit ratio is {@code hit / (hit + miss)} over {@code cache.gets}.
+ */
+@Component
+public class CacheMetrics implements MeterBinder {
+
+    private final VerifiedTokenCache tokenCache;
+    private final SerializedDocumentCache documentCache;
+
+    public CacheMetrics(VerifiedTokenCache tokenCache, SerializedDocumentCache documentCache) {
+        this.tokenCache = tokenCache;
+        this.documentCache = documentCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, "jwt", tokenCache, VerifiedTokenCache::getHitCount, VerifiedTokenCache::getMissCount,
+                VerifiedTokenCache::getEvictionCount, VerifiedTokenCache::size);
+        bind(registry, "documents", documentCache, SerializedDocumentCache::getHitCount,
+                SerializedDocumentCache::getMissCount, SerializedDocumentCache::getEvictionCount,
+                SerializedDocumentCache::size);
+    }
+
+    private static <C> void bind(MeterRegistry registry, String name, C cache, ToDoubleFunction<C> hits,
+                                 ToDoubleFunction<C> misses, ToDoubleFunction<C> evictions, ToDoubleFunction<C> size) {
+        FunctionCounter.builder("cache.gets", cache, hits)
+                .tag("cache", name).tag("result", "hit")
+                .description("Cache lookups that found a usable entry")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, misses)
+                .tag("cache", name).tag("result", "miss")
+                .description("Cache lookups that found no usable entry")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", cache, evictions)
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("cache.size", cache, size)
+                .tag("cache", name)
+                .register(registry);
+    }
+}
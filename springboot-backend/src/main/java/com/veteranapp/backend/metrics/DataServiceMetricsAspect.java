@@ -0,0 +1,147 @@
+package com.veteranapp.backend.metrics;
+
+import com.veteranapp.backend.service.OrganizationIndex;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public {@code DataService} call as {@code dataservice.query}, tagged with the
+ * method and bucketed organization, and records the number of returned items as
+ * {@code dataservice.query.results}. Calls DataService makes on itself are not proxied and
+ * so only count towards their caller.
+ *
+ * Meters are looked up in per-method caches keyed by their tags, so a call costs map lookups
+ * rather than building and registering its meters again.
+ */
+@Aspect
+@Component
+public class DataServiceMetricsAspect {
+
+    // Fixed, coarse buckets keep the result size histogram to a handful of series per method
+    private static final double[] RESULT_SIZE_BUCKETS = {1, 10, 50, 100, 500, 1000, 10000};
+
+    private final MeterRegistry registry;
+    private final OrganizationTagBucketer organizationTags;
+
+    private final Map<Method, MethodMeters> methodMeters = new ConcurrentHashMap<>();
+
+    public DataServiceMetricsAspect(MeterRegistry registry, OrganizationTagBucketer organizationTags) {
+        this.registry = registry;
+        this.organizationTags = organizationTags;
+    }
+
+    @Around("execution(public * com.veteranapp.backend.service.DataService.*(..))")
+    public Object timeQuery(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        MethodMeters meters = methodMeters.computeIfAbsent(signature.getMethod(),
+                m -> new MethodMeters(signature.getName(), indexOf(signature.getParameterNames(), "organizationId")));
+        String organization = meters.organizationParameter < 0 ? OrganizationTagBucketer.NONE
+                : organizationTags.tagOf((String) joinPoint.getArgs()[meters.organizationParameter]);
+
+        long start = System.nanoTime();
+        String exception = null;
+        try {
+            Object result = joinPoint.proceed();
+            int size = sizeOf(result);
+            if (size >= 0) {
+                meters.results().record(size);
+            }
+            return result;
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            meters.timer(organization, exception).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * The meters of one DataService method. Organization tags come from a bounded set of
+     * buckets, so the caches stay small.
+     */
+    private final class MethodMeters {
+        private final String method;
+        // Position of the organizationId parameter, -1 when there is none
+        private final int organizationParameter;
+        private volatile DistributionSummary results;
+        // Successful calls by organization tag, looked up without building a key
+        private final Map<String, Timer> successTimers = new ConcurrentHashMap<>();
+        // Failed calls by organization tag and exception name
+        private final Map<List<String>, Timer> failureTimers = new ConcurrentHashMap<>();
+
+        private MethodMeters(String method, int organizationParameter) {
+            this.method = method;
+            this.organizationParameter = organizationParameter;
+        }
+
+        private DistributionSummary results() {
+            DistributionSummary summary = results;
+            if (summary == null) {
+                // Registering again returns the meter already registered
+                summary = DistributionSummary.builder("dataservice.query.results")
+                        .description("Number of items returned by DataService queries")
+                        .tag("method", method)
+                        .serviceLevelObjectives(RESULT_SIZE_BUCKETS)
+                        .register(registry);
+                results = summary;
+            }
+            return summary;
+        }
+
+        private Timer timer(String organization, String exception) {
+            if (exception == null) {
+                return successTimers.computeIfAbsent(organization, k -> register(organization, "none"));
+            }
+            return failureTimers.computeIfAbsent(List.of(organization, exception),
+                    k -> register(organization, exception));
+        }
+
+        private Timer register(String organization, String exception) {
+            return Timer.builder("dataservice.query")
+                    .description("DataService call latency")
+                    .tag("method", method)
+                    .tag("organization", organization)
+                    .tag("exception", exception)
+                    .register(registry);
+        }
+    }
+
+    private static int sizeOf(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof OrganizationIndex.Page<?> page) {
+            return page.getItems().size();
+        }
+        return -1;
+    }
+
+    private static int indexOf(String[] names, String name) {
+        for (int i = 0; names != null && i < names.length; i++) {
+            if (name.equals(names[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
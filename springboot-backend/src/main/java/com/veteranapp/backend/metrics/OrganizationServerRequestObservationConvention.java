@@ -0,0 +1,42 @@
+package com.veteranapp.backend.metrics;
+
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Adds the handling controller method and the bucketed organization to the standard
+ * {@code http.server.requests} metrics, so every endpoint gets its own timer per busy
+ * organization without the series count growing with the number of organizations.
+ */
+@Component
+public class OrganizationServerRequestObservationConvention extends DefaultServerRequestObservationConvention {
+
+    private static final String ORGANIZATION_HEADER = "X-Organization-ID";
+
+    private final OrganizationTagBucketer organizationTags;
+
+    public OrganizationServerRequestObservationConvention(OrganizationTagBucketer organizationTags) {
+        this.organizationTags = organizationTags;
+    }
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        HttpServletRequest request = context.getCarrier();
+        return super.getLowCardinalityKeyValues(context)
+                .and("handler", handler(request))
+                .and("organization", organizationTags.bucket(request.getHeader(ORGANIZATION_HEADER)));
+    }
+
+    private static String handler(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return "none";
+    }
+}
@@ -0,0 +1,152 @@
+package com.veteranapp.backend.metrics;
+
+import com.veteranapp.backend.service.DataService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Maps organization ids to metric tag values while keeping the number of series bounded.
+ * Only the {@code top-n} busiest organizations keep their own tag; everything else is
+ * reported as {@value #OTHER}. Traffic counts decay by half on every refresh, so the top
+ * set follows current load and ids seen only once age out.
+ *
+ * Meters are never removed, so every id ever tagged leaves series behind. Only ids of
+ * existing organizations are tagged, and at most {@code max-values} distinct ids are ever
+ * tagged; once that many have been, newcomers are reported as {@value #OTHER} for good.
+ */
+@Component
+public class OrganizationTagBucketer {
+
+    public static final String NONE = "none";
+    public static final String OTHER = "other";
+
+    private final Predicate<String> knownOrganization;
+    private final int topN;
+    private final int maxTracked;
+    private final int maxTagValues;
+    private final long refreshIntervalNanos;
+    private final LongSupplier nanoTime;
+
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+    private volatile Set<String> top = Set.of();
+    // Every id ever returned as a tag, guarded by this
+    private final Set<String> tagged = new HashSet<>();
+    private volatile long nextRefresh;
+
+    @Autowired
+    public OrganizationTagBucketer(ObjectProvider<DataService> dataService,
+                                   @Value("${metrics.organization-tags.top-n:20}") int topN,
+                                   @Value("${metrics.organization-tags.max-tracked:10000}") int maxTracked,
+                                   @Value("${metrics.organization-tags.max-values:100}") int maxTagValues,
+                                   @Value("${metrics.organization-tags.refresh-interval:60000}") long refreshIntervalMillis) {
+        // Looked up lazily: DataService is itself advised by the metrics aspect
+        this(id -> dataService.getObject().getOrganizationById(id).isPresent(), topN, maxTracked, maxTagValues,
+                refreshIntervalMillis, System::nanoTime);
+    }
+
+    OrganizationTagBucketer(Predicate<String> knownOrganization, int topN, int maxTracked, int maxTagValues,
+                            long refreshIntervalMillis, LongSupplier nanoTime) {
+        this.knownOrganization = knownOrganization;
+        this.topN = topN;
+        this.maxTracked = maxTracked;
+        this.maxTagValues = maxTagValues;
+        this.refreshIntervalNanos = refreshIntervalMillis * 1_000_000L;
+        this.nanoTime = nanoTime;
+        this.nextRefresh = nanoTime.getAsLong() + refreshIntervalNanos;
+    }
+
+    /**
+     * Records one request for the organization and returns the tag value to use for it.
+     * Called once per request; other meters of the same request use {@link #tagOf}.
+     */
+    public String bucket(String organizationId) {
+        if (organizationId == null || organizationId.isEmpty()) {
+            return NONE;
+        }
+        LongAdder count = counts.get(organizationId);
+        Set<String> current = top;
+        if (count == null) {
+            // Past the limit, new ids are not tracked until the next decay frees room
+            if (counts.size() >= maxTracked) {
+                return OTHER;
+            }
+            count = counts.computeIfAbsent(organizationId, k -> new LongAdder());
+            if (current.size() < topN && !current.contains(organizationId)) {
+                current = promote(organizationId);
+            }
+        }
+        count.increment();
+
+        if (nanoTime.getAsLong() - nextRefresh >= 0) {
+            current = refresh();
+        }
+        return current.contains(organizationId) ? organizationId : OTHER;
+    }
+
+    /**
+     * Returns the tag value for the organization without counting a request.
+     */
+    public String tagOf(String organizationId) {
+        if (organizationId == null || organizationId.isEmpty()) {
+            return NONE;
+        }
+        return top.contains(organizationId) ? organizationId : OTHER;
+    }
+
+    // Fills a free top slot as soon as an organization is first seen
+    private synchronized Set<String> promote(String organizationId) {
+        if (top.size() < topN && !top.contains(organizationId) && mayTag(organizationId)) {
+            Set<String> promoted = new HashSet<>(top);
+            promoted.add(organizationId);
+            top = Collections.unmodifiableSet(promoted);
+        }
+        return top;
+    }
+
+    private synchronized Set<String> refresh() {
+        if (nanoTime.getAsLong() - nextRefresh < 0) {
+            // Another thread refreshed first
+            return top;
+        }
+        List<Map.Entry<String, LongAdder>> ranked = new ArrayList<>(counts.entrySet());
+        ranked.sort(Map.Entry.<String, LongAdder>comparingByValue(Comparator.comparingLong(LongAdder::sum)).reversed());
+        Set<String> next = new HashSet<>();
+        for (Map.Entry<String, LongAdder> entry : ranked) {
+            if (next.size() >= topN) {
+                break;
+            }
+            if (mayTag(entry.getKey())) {
+                next.add(entry.getKey());
+            }
+        }
+        top = Collections.unmodifiableSet(next);
+
+        counts.entrySet().removeIf(entry -> {
+            long halved = entry.getValue().sumThenReset() / 2;
+            entry.getValue().add(halved);
+            return halved == 0 && !next.contains(entry.getKey());
+        });
+        nextRefresh = nanoTime.getAsLong() + refreshIntervalNanos;
+        return top;
+    }
+
+    // Called under the lock; admits the id to the tagged set if it is allowed a tag
+    private boolean mayTag(String organizationId) {
+        if (tagged.contains(organizationId)) {
+            return true;
+        }
+        if (tagged.size() >= maxTagValues || !knownOrganization.test(organizationId)) {
+            return false;
+        }
+        tagged.add(organizationId);
+        return true;
+    }
+}
@@ -10,6 +10,10 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class SoccerMatch {
+    // Values of the team field of goals, assists and cards
+    public static final String HOME = "Home";
+    public static final String AWAY = "Away";
+
     private String matchDay;
     private String homeTeam;
     private String awayTeam;
@@ -22,6 +26,12 @@ public class SoccerMatch {
     private List<Assist> assists;
     private List<Card> yellowCards;
     private List<Card> redCards;
+    // Set once the match is finished; it then takes no further events
+    private Boolean finished;
+
+    public static boolean isSide(String team) {
+        return HOME.equals(team) || AWAY.equals(team);
+    }
     
     @Data
     @NoArgsConstructor
@@ -0,0 +1,23 @@
+package com.veteranapp.backend.security;
+
+import com.veteranapp.backend.model.User;
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * Principal resolved once per request by {@link JwtAuthenticationFilter}.
+ * Also stored as the {@link #REQUEST_ATTRIBUTE} request attribute.
+ */
+@Value
+public class AuthenticatedUser {
+
+    public static final String REQUEST_ATTRIBUTE = AuthenticatedUser.class.getName();
+
+    User user;
+    Set<String> organizationIds;
+
+    public boolean canAccess(String organizationId) {
+        return organizationIds.contains(organizationId);
+    }
+}
@@ -0,0 +1,84 @@
+package com.veteranapp.backend.security;
+
+import com.veteranapp.backend.model.User;
+import com.veteranapp.backend.service.DataService;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Verifies the bearer token once per request and resolves the user and the organizations
+ * they may access. The result is published as the Spring Security principal and as a
+ * request attribute, so controllers never parse tokens themselves.
+ *
+ * Only access tokens authenticate; refresh tokens are accepted by /auth/refresh alone,
+ * where they are checked for revocation. Requests without a valid token continue
+ * unauthenticated. Authenticated requests whose
+ * X-Organization-ID is outside the user's organizations are rejected with 403.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+    private final DataService dataService;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, DataService dataService) {
+        this.jwtUtil = jwtUtil;
+        this.dataService = dataService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        AuthenticatedUser authenticatedUser = authenticate(request.getHeader("Authorization"));
+
+        if (authenticatedUser != null) {
+            String organizationId = request.getHeader("X-Organization-ID");
+            if (organizationId != null && !organizationId.isEmpty() && !authenticatedUser.canAccess(organizationId)) {
+                response.sendError(HttpStatus.FORBIDDEN.value(), "Organization not accessible");
+                return;
+            }
+
+            request.setAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE, authenticatedUser);
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    authenticatedUser, null, Collections.emptyList());
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private AuthenticatedUser authenticate(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        try {
+            TokenClaims claims = jwtUtil.parseToken(authHeader.substring(BEARER_PREFIX.length()));
+            if (!claims.isAccessToken()) {
+                return null;
+            }
+            Optional<User> userOpt = dataService.findUserByUsername(claims.getUsername());
+            if (userOpt.isEmpty()) {
+                return null;
+            }
+            User user = userOpt.get();
+            Set<String> organizationIds = Collections.unmodifiableSet(new HashSet<>(user.getOrganizationIds()));
+            return new AuthenticatedUser(user, organizationIds);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package com.veteranapp.backend.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -12,11 +18,17 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
+    // Values of the "typ" claim; only access tokens authenticate requests
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
+    private static final String TYPE_CLAIM = "typ";
+
     @Value("${jwt.secret}")
     private String secret;
 
@@ -26,16 +38,63 @@ public class JwtUtil {
     @Value("${jwt.refresh-token-expiry}")
     private Long refreshTokenExpiry;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    @Autowired
+    private VerifiedTokenCache tokenCache;
+
+    // Falls back to the global registry when JwtUtil is used outside a Spring context
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    // Both are immutable and thread-safe, so they are built once and shared by all requests
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    private Timer verifyTimer;
+    private Timer signTimer;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        verifyTimer = Timer.builder("jwt.verify")
+                .description("Signature verification of tokens not found in the verified token cache")
+                .register(meterRegistry);
+        signTimer = Timer.builder("jwt.sign")
+                .description("Token creation and signing")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Verifies the token's signature and expiry once and returns its claims.
+     * Tokens seen before are answered from {@link VerifiedTokenCache} until they expire.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public TokenClaims parseToken(String token) {
+        TokenClaims cached = tokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = verifyTimer.record(() -> extractAllClaims(token));
+        TokenClaims verified = new TokenClaims(
+                claims.getSubject(),
+                claims.get("userId", String.class),
+                claims.getExpiration().toInstant(),
+                claims.getId(),
+                claims.get(TYPE_CLAIM, String.class)
+        );
+        tokenCache.put(token, verified);
+        return verified;
     }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return parseToken(token).getUsername();
     }
 
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return Date.from(parseToken(token).getExpiration());
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -44,41 +103,39 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public String generateAccessToken(String username, String userId) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
+        claims.put(TYPE_CLAIM, ACCESS_TOKEN);
         return createToken(claims, username, accessTokenExpiry);
     }
 
+    /**
+     * Creates a refresh token with a random id, by which {@link RefreshTokenRegistry} revokes it.
+     */
     public String generateRefreshToken(String username, String userId) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
+        claims.put(Claims.ID, UUID.randomUUID().toString());
+        claims.put(TYPE_CLAIM, REFRESH_TOKEN);
         return createToken(claims, username, refreshTokenExpiry);
     }
 
     private String createToken(Map<String, Object> claims, String subject, Long expiry) {
-        return Jwts.builder()
+        return signTimer.record(() -> Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiry))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact());
     }
 
     public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        final TokenClaims claims = parseToken(token);
+        return (claims.getUsername().equals(username) && !claims.isExpired());
     }
 }
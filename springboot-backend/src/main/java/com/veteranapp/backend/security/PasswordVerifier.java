@@ -0,0 +1,103 @@
+package com.veteranapp.backend.security;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Checks login passwords on a dedicated, bounded pool, so BCrypt's deliberate CPU cost is
+ * never paid on a request thread. At most {@code threads} checks run at once and at most
+ * {@code queueSize} wait; beyond that {@link #verify} fails fast with
+ * {@link RejectedExecutionException}, and a burst of logins cannot starve other requests.
+ *
+ * After a successful login, a password stored as plain text or hashed at a strength other
+ * than the configured one is re-hashed, so stored hashes converge on the configured strength
+ * and known users take as long to check as the dummy hash used for unknown ones.
+ */
+@Component
+public class PasswordVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordVerifier.class);
+
+    private static final Pattern BCRYPT_HASH = Pattern.compile("\\$2[aby]?\\$\\d\\d\\$[./A-Za-z0-9]{53}");
+
+    private final PasswordEncoder passwordEncoder;
+    private final ExecutorService executor;
+    // Checked for unknown usernames, so they take as long as known ones
+    private final String unknownUserHash;
+    // Cost prefix of hashes made with the configured strength, e.g. "$2a$10$"
+    private final String currentCost;
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder,
+                            @Value("${security.login.threads:4}") int threads,
+                            @Value("${security.login.queue-size:64}") int queueSize) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "password-verifier");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.unknownUserHash = passwordEncoder.encode("unknown-user");
+        this.currentCost = unknownUserHash.substring(0, 7);
+    }
+
+    /**
+     * Completes with whether {@code rawPassword} matches {@code storedPassword}; a null
+     * stored password never matches. Stored passwords that are not BCrypt hashes, such as
+     * those in data persisted before passwords were hashed, are compared as plain text
+     * until {@link #rehashIfNeeded} replaces them.
+     *
+     * @throws RejectedExecutionException if the pool and its queue are full
+     */
+    public CompletableFuture<Boolean> verify(String rawPassword, String storedPassword) {
+        String raw = rawPassword == null ? "" : rawPassword;
+        if (storedPassword != null && !BCRYPT_HASH.matcher(storedPassword).matches()) {
+            return CompletableFuture.completedFuture(MessageDigest.isEqual(
+                    raw.getBytes(StandardCharsets.UTF_8), storedPassword.getBytes(StandardCharsets.UTF_8)));
+        }
+        String hash = storedPassword == null ? unknownUserHash : storedPassword;
+        return CompletableFuture.supplyAsync(() -> passwordEncoder.matches(raw, hash) && storedPassword != null,
+                executor);
+    }
+
+    /**
+     * Re-hashes a password that matched its stored form when that form is plain text or
+     * uses another strength, handing the new hash to {@code store}. The hash is computed on
+     * the verifier pool; when the pool is full the upgrade is skipped until the next login.
+     */
+    public void rehashIfNeeded(String rawPassword, String storedPassword, Consumer<String> store) {
+        if (rawPassword == null || !needsRehash(storedPassword)) {
+            return;
+        }
+        try {
+            CompletableFuture.supplyAsync(() -> passwordEncoder.encode(rawPassword), executor)
+                    .thenAccept(store)
+                    .exceptionally(e -> {
+                        log.warn("Failed to store a re-hashed password", e);
+                        return null;
+                    });
+        } catch (RejectedExecutionException e) {
+            // Retried on the next successful login
+        }
+    }
+
+    boolean needsRehash(String storedPassword) {
+        return storedPassword != null && (!BCRYPT_HASH.matcher(storedPassword).matches()
+                || !storedPassword.startsWith(currentCost));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
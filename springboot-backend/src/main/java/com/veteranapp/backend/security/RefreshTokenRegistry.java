@@ -0,0 +1,260 @@
+package com.veteranapp.backend.security;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Revoked refresh tokens, by token id ({@code jti}). A refresh token is revoked when it is
+ * used, since each refresh rotates it, and on logout.
+ *
+ * {@link #isRevoked} runs on every refresh and takes no lock and allocates nothing: a Bloom
+ * filter answers most checks, and only ids it might contain are looked up in the exact set.
+ * Entries are kept until the token would have expired anyway. With the file storage engine
+ * they are appended to a compact file under {@code storage.dir}, 24 bytes each, which is
+ * rewritten without expired entries on startup and with every purge.
+ */
+@Component
+public class RefreshTokenRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenRegistry.class);
+
+    private static final int MAGIC = 0x56525431; // "VRT1"
+    private static final int RECORD_SIZE = 24;
+    private static final long PURGE_INTERVAL = TimeUnit.HOURS.toMillis(1);
+
+    private final Path file;
+    private final int expectedRevocations;
+    // Token id -> expiry in epoch milliseconds
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    // Guards revocation, purging and the file
+    private final Object writeLock = new Object();
+    private FileChannel channel;
+    private long nextPurge;
+
+    @Autowired
+    public RefreshTokenRegistry(@Value("${storage.engine:memory}") String storageEngine,
+                                @Value("${storage.dir:data}") String storageDirectory,
+                                @Value("${security.refresh.expected-revocations:100000}") int expectedRevocations) {
+        this("file".equals(storageEngine) ? Path.of(storageDirectory, "revoked-refresh-tokens.bin") : null,
+                expectedRevocations);
+    }
+
+    /**
+     * @param file where revocations are kept across restarts, or {@code null} to keep them in memory only
+     */
+    RefreshTokenRegistry(Path file, int expectedRevocations) {
+        this.file = file;
+        this.expectedRevocations = expectedRevocations;
+        this.filter = new BloomFilter(expectedRevocations);
+        if (file != null) {
+            load();
+        }
+        synchronized (writeLock) {
+            purge(System.currentTimeMillis());
+        }
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return filter.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    /**
+     * Revokes the token until {@code expiration}.
+     *
+     * @return {@code false} if it was already revoked, e.g. by a concurrent refresh with the same token
+     */
+    public boolean revoke(String tokenId, Instant expiration) {
+        long now = System.currentTimeMillis();
+        synchronized (writeLock) {
+            if (revoked.putIfAbsent(tokenId, expiration.toEpochMilli()) != null) {
+                return false;
+            }
+            filter.add(tokenId);
+            append(tokenId, expiration.toEpochMilli());
+            if (now >= nextPurge || revoked.size() > filter.capacity) {
+                purge(now);
+            }
+            return true;
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        synchronized (writeLock) {
+            closeChannel();
+        }
+    }
+
+    private void load() {
+        try {
+            if (!Files.exists(file)) {
+                return;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (buffer.remaining() < Integer.BYTES || buffer.getInt() != MAGIC) {
+                log.warn("Ignoring {}: not a revoked refresh token file", file);
+                return;
+            }
+            // A torn record at the end is dropped; the file is rewritten right after loading
+            while (buffer.remaining() >= RECORD_SIZE) {
+                String tokenId = new UUID(buffer.getLong(), buffer.getLong()).toString();
+                revoked.put(tokenId, buffer.getLong());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + file, e);
+        }
+    }
+
+    // Drops expired entries, rebuilds the filter for what is left, and compacts the file
+    private void purge(long now) {
+        revoked.values().removeIf(expiry -> expiry <= now);
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2));
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+        nextPurge = now + PURGE_INTERVAL;
+        if (file != null) {
+            rewrite();
+        }
+    }
+
+    private void rewrite() {
+        closeChannel();
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + revoked.size() * RECORD_SIZE);
+            buffer.putInt(MAGIC);
+            revoked.forEach((tokenId, expiry) -> putRecord(buffer, tokenId, expiry));
+            buffer.flip();
+            try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                out.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            // Revocations still hold in memory; they are written again with the next purge
+            log.error("Failed to rewrite {}", file, e);
+        }
+    }
+
+    private void append(String tokenId, long expiry) {
+        if (channel == null) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+        putRecord(buffer, tokenId, expiry);
+        buffer.flip();
+        try {
+            // Not forced to disk: a process crash loses nothing, and a power loss at most the latest revocations
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            log.error("Failed to append to {}", file, e);
+        }
+    }
+
+    private static void putRecord(ByteBuffer buffer, String tokenId, long expiry) {
+        UUID id = UUID.fromString(tokenId);
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+        buffer.putLong(expiry);
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close {}", file, e);
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * Bloom filter over token ids with about ten bits per expected entry and seven probes,
+     * for a false positive rate near 1% at capacity. Bits are set with atomic updates, so
+     * readers never lock.
+     */
+    static final class BloomFilter {
+        private static final int PROBES = 7;
+
+        private final AtomicLongArray words;
+        private final long mask;
+        private final int capacity;
+
+        BloomFilter(int capacity) {
+            this.capacity = capacity;
+            long bits = Long.highestOneBit(Math.max(1024L, capacity * 10L - 1)) << 1;
+            this.words = new AtomicLongArray((int) (bits >>> 6));
+            this.mask = bits - 1;
+        }
+
+        void add(String value) {
+            long hash = hash(value);
+            long step = mix(hash) | 1;
+            for (int i = 0; i < PROBES; i++) {
+                long bit = (hash + i * step) & mask;
+                words.getAndAccumulate((int) (bit >>> 6), 1L << bit, (word, flag) -> word | flag);
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash(value);
+            long step = mix(hash) | 1;
+            for (int i = 0; i < PROBES; i++) {
+                long bit = (hash + i * step) & mask;
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // 64-bit FNV-1a over the characters, read in place
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+            }
+            return mix(hash);
+        }
+
+        // MurmurHash3 finalizer, spreading the bits for the second probe hash
+        private static long mix(long hash) {
+            hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+            hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+            return hash ^ (hash >>> 33);
+        }
+    }
+}
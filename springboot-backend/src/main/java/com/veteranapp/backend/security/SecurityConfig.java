@@ -1,5 +1,7 @@
 package com.veteranapp.backend.security;
 
+import com.veteranapp.backend.service.DataService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -8,6 +10,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -20,7 +23,8 @@ import java.util.List;
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtUtil jwtUtil,
+                                                   DataService dataService) throws Exception {
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             // CSRF protection is disabled for REST API with JWT token authentication (stateless)
@@ -28,6 +32,9 @@ public class SecurityConfig {
             // For production with session-based authentication, enable CSRF protection
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            // Created here rather than as a bean so the servlet container does not register it twice
+            .addFilterBefore(new JwtAuthenticationFilter(jwtUtil, dataService),
+                             UsernamePasswordAuthenticationFilter.class)
             .authorizeHttpRequests(auth -> auth
                 .anyRequest().permitAll()  // Allow all requests for now (mock data)
             );
@@ -51,8 +58,9 @@ public class SecurityConfig {
         return source;
     }
 
+    // Each step of strength doubles the cost of hashing and checking a password
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
@@ -0,0 +1,31 @@
+package com.veteranapp.backend.security;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of a verified token, produced by a single parse in {@link JwtUtil}.
+ */
+@Value
+public class TokenClaims {
+    String username;
+    String userId;
+    Instant expiration;
+    // Token id ("jti"); set on refresh tokens only
+    String tokenId;
+    // JwtUtil.ACCESS_TOKEN or JwtUtil.REFRESH_TOKEN
+    String type;
+
+    public boolean isAccessToken() {
+        return JwtUtil.ACCESS_TOKEN.equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return JwtUtil.REFRESH_TOKEN.equals(type);
+    }
+
+    public boolean isExpired() {
+        return expiration.isBefore(Instant.now());
+    }
+}
@@ -0,0 +1,112 @@
+package com.veteranapp.backend.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of already verified tokens, keyed by the token's SHA-256 digest so
+ * raw bearer tokens are never retained. Entries live until the token's own expiry, letting
+ * clients that resend the same token skip signature verification.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final int maxSize;
+    private final Map<ByteBuffer, TokenClaims> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public VerifiedTokenCache(@Value("${jwt.cache.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, TokenClaims> eldest) {
+                // Evict by size, and opportunistically drop the LRU entry once its token expired
+                boolean evict = size() > VerifiedTokenCache.this.maxSize || eldest.getValue().isExpired();
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached claims for the token, or {@code null} if the token has not been
+     * verified yet or has expired since.
+     */
+    public TokenClaims get(String token) {
+        ByteBuffer key = digest(token);
+        TokenClaims claims;
+        synchronized (entries) {
+            claims = entries.get(key);
+            if (claims != null && claims.isExpired()) {
+                entries.remove(key);
+                evictions.increment();
+                claims = null;
+            }
+        }
+        if (claims == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return claims;
+    }
+
+    public void put(String token, TokenClaims claims) {
+        if (maxSize <= 0 || claims.isExpired()) {
+            return;
+        }
+        ByteBuffer key = digest(token);
+        synchronized (entries) {
+            entries.put(key, claims);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+}
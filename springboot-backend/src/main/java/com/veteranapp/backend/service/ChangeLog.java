@@ -0,0 +1,109 @@
+package com.veteranapp.backend.service;
+
+import lombok.Value;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-organization log of changed entities, ordered by the organization data version that
+ * introduced them, for delta sync. Each organization keeps at most {@code maxEntries}
+ * entries; once older entries are dropped, clients behind them are told to resync fully.
+ */
+public class ChangeLog {
+
+    private volatile int maxEntries;
+    private final Map<String, OrganizationLog> logs = new ConcurrentHashMap<>();
+
+    public ChangeLog(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Records the entities changed by one organization write, all at {@code version}.
+     */
+    public void record(String organizationId, long version, List<Change> changes) {
+        OrganizationLog log = logs.computeIfAbsent(organizationId, k -> new OrganizationLog());
+        synchronized (log) {
+            log.entries.addAll(changes);
+            log.version = version;
+            while (log.entries.size() > maxEntries) {
+                log.droppedThrough = log.entries.removeFirst().getVersion();
+            }
+        }
+    }
+
+    /**
+     * Returns the latest state of every entity changed after version {@code since}, in the
+     * order of their last change, together with the version the result is current to.
+     * The result is incomplete if {@code since} is older than the retained entries or
+     * newer than the organization's version.
+     */
+    public Changes changesSince(String organizationId, long since) {
+        OrganizationLog log = logs.get(organizationId);
+        if (log == null) {
+            return new Changes(0, since == 0, Collections.emptyList());
+        }
+        synchronized (log) {
+            if (since < log.droppedThrough || since > log.version) {
+                return new Changes(log.version, false, Collections.emptyList());
+            }
+            // Later changes to an entity supersede earlier ones
+            Map<String, Change> latest = new LinkedHashMap<>();
+            Iterator<Change> newestFirst = log.entries.descendingIterator();
+            while (newestFirst.hasNext()) {
+                Change change = newestFirst.next();
+                if (change.getVersion() <= since) {
+                    break;
+                }
+                latest.putIfAbsent(change.getType() + ':' + change.getId(), change);
+            }
+            List<Change> changes = new ArrayList<>(latest.values());
+            Collections.reverse(changes);
+            return new Changes(log.version, true, changes);
+        }
+    }
+
+    /**
+     * Returns the version of the organization's latest recorded change, or 0 if none is.
+     */
+    public long version(String organizationId) {
+        OrganizationLog log = logs.get(organizationId);
+        if (log == null) {
+            return 0;
+        }
+        synchronized (log) {
+            return log.version;
+        }
+    }
+
+    public void clear() {
+        logs.clear();
+    }
+
+    @Value
+    public static class Change {
+        long version;
+        String type;
+        String id;
+        Object entity;
+    }
+
+    @Value
+    public static class Changes {
+        long version;
+        boolean complete;
+        List<Change> changes;
+    }
+
+    private static final class OrganizationLog {
+        private final ArrayDeque<Change> entries = new ArrayDeque<>();
+        private long version;
+        // Version of the newest dropped entry; clients at or after it can still catch up
+        private long droppedThrough;
+    }
+}
@@ -0,0 +1,125 @@
+package com.veteranapp.backend.service;
+
+import com.veteranapp.backend.dto.DashboardResponse;
+import com.veteranapp.backend.model.HostingSchedule;
+import com.veteranapp.backend.model.Meeting;
+import com.veteranapp.backend.model.News;
+import com.veteranapp.backend.model.Official;
+import com.veteranapp.backend.model.SoccerMatch;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Assembles the dashboard screen in one call. The news, officials, hosting, meetings and
+ * soccer sections are queried concurrently, and each gets the same time budget measured
+ * from the start of the request. A section that misses its budget or fails is left out
+ * and named in {@link DashboardResponse#getUnavailableSections()}, so one slow section
+ * never holds back the others. A section that misses its budget is cancelled, interrupting
+ * its query. Without virtual threads, sections run on a fixed pool with a bounded queue;
+ * a section the queue cannot take is reported as {@link #REJECTED} rather than waiting.
+ */
+@Component
+public class DashboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+
+    static final String TIMEOUT = "timeout";
+    static final String ERROR = "error";
+    static final String REJECTED = "rejected";
+
+    private final DataService dataService;
+    private final long sectionTimeout;
+    private final Executor executor;
+
+    public DashboardService(DataService dataService,
+                            @Value("${dashboard.section-timeout:250}") long sectionTimeout,
+                            @Value("${dashboard.threads:8}") int threads,
+                            @Value("${dashboard.queue-size:32}") int queueSize,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.dataService = dataService;
+        this.sectionTimeout = sectionTimeout;
+        if (virtualThreads && JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("dashboard-section-");
+            executor.setVirtualThreads(true);
+            this.executor = executor;
+        } else {
+            this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueSize), runnable -> {
+                        Thread thread = new Thread(runnable, "dashboard-section");
+                        thread.setDaemon(true);
+                        return thread;
+                    }, new ThreadPoolExecutor.AbortPolicy());
+        }
+    }
+
+    public DashboardResponse getDashboard(String organizationId) {
+        Map<String, String> unavailable = new ConcurrentHashMap<>();
+        CompletableFuture<List<News>> news = section("news", unavailable,
+                () -> dataService.getNewsByOrganization(organizationId));
+        CompletableFuture<List<Official>> officials = section("officials", unavailable,
+                () -> dataService.getOfficialsByOrganization(organizationId));
+        CompletableFuture<HostingSchedule> hosting = section("hosting", unavailable,
+                () -> dataService.getCurrentHostingSchedule(organizationId));
+        CompletableFuture<List<Meeting>> meetings = section("meetings", unavailable,
+                () -> dataService.getMeetingsByOrganization(organizationId));
+        CompletableFuture<SoccerMatch> soccerMatch = section("soccerMatch", unavailable,
+                dataService::getCurrentSoccerMatch);
+
+        // Every section completes by its deadline, with a value or null
+        CompletableFuture.allOf(news, officials, hosting, meetings, soccerMatch).join();
+        return new DashboardResponse(news.join(), officials.join(), hosting.join(), meetings.join(),
+                soccerMatch.join(), new LinkedHashMap<>(unavailable));
+    }
+
+    private <T> CompletableFuture<T> section(String name, Map<String, String> unavailable, Supplier<T> query) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        // A FutureTask, unlike supplyAsync, can interrupt the query when it is cancelled
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            try {
+                result.complete(query.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }, null);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            unavailable.put(name, REJECTED);
+            log.warn("Dashboard section {} rejected, the section pool is saturated", name);
+            return CompletableFuture.completedFuture(null);
+        }
+        return result.orTimeout(sectionTimeout, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof TimeoutException) {
+                        task.cancel(true);
+                        unavailable.put(name, TIMEOUT);
+                        log.warn("Dashboard section {} exceeded its {} ms budget", name, sectionTimeout);
+                    } else {
+                        unavailable.put(name, ERROR);
+                        log.error("Dashboard section {} failed", name, cause);
+                    }
+                    return null;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdownNow();
+        } else if (executor instanceof SimpleAsyncTaskExecutor) {
+            ((SimpleAsyncTaskExecutor) executor).close();
+        }
+    }
+}
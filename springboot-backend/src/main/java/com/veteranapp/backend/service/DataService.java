@@ -1,45 +1,113 @@
 package com.veteranapp.backend.service;
 
+import com.veteranapp.backend.dto.LeaderboardEntry;
+import com.veteranapp.backend.dto.MatchEvent;
 import com.veteranapp.backend.model.*;
+import com.veteranapp.backend.storage.DataSnapshot;
+import com.veteranapp.backend.storage.InMemoryStorageEngine;
+import com.veteranapp.backend.storage.Mutation;
+import com.veteranapp.backend.storage.StorageEngine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 @Service
 public class DataService {
 
     private final List<User> users;
+    private final Map<String, User> usersByUsername;
+    private final Map<String, User> usersById;
     private final List<Organization> organizations;
-    private final List<Official> officials;
-    private final List<News> newsList;
-    private final List<Member> members;
-    private final List<Meeting> meetings;
-    private final Map<String, Constitution> constitutions;
-    private final SoccerMatch currentSoccerMatch;
+    private final Map<String, Organization> organizationsById;
+    private final OrganizationIndex<Official> officials;
+    private final OrganizationIndex<News> newsList;
+    private final OrganizationIndex<Member> members;
+    private final OrganizationIndex<Meeting> meetings;
+    // One constitution per organization, keyed by the organization id
+    private final OrganizationIndex<Constitution> constitutions;
+    // Replaced, never mutated, on every match update so readers always see a consistent match
+    private volatile SoccerMatch currentSoccerMatch;
+    private final Object soccerLock = new Object();
+    private final MatchHistoryStore matchHistory = new MatchHistoryStore();
+
+    @Autowired
+    private MatchEventBus matchEventBus;
+
+    // Replaced by the configured engine; the default keeps DataService usable outside Spring
+    @Autowired(required = false)
+    private StorageEngine storage = new InMemoryStorageEngine();
+    // Writes lock only what they change: the organizations they touch, the users or the
+    // organization list. Writes to the same data are logged and applied in the same order,
+    // and an organization's version bumps and change log entries stay in step.
+    private final Map<String, Lock> organizationLocks = new ConcurrentHashMap<>();
+    private final Lock usersLock = new ReentrantLock();
+    private final Lock organizationListLock = new ReentrantLock();
+    // Only used with a durable engine: writes share it, and a snapshot takes it exclusively
+    // so that it matches a log position
+    private final ReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+    private final AtomicBoolean snapshotting = new AtomicBoolean();
+
+    // Per-organization data versions, bumped on every mutation. The epoch tells versions
+    // from different runs apart, since versions start over on restart.
+    private final long dataEpoch = System.currentTimeMillis();
+    private final Map<String, AtomicLong> organizationVersions = new ConcurrentHashMap<>();
+    // Entities changed by each version, for delta sync
+    private final ChangeLog changeLog = new ChangeLog(1000);
+    private static final String MEMBER_CHANGE = "member";
+
+    // Hosting schedules by organization and period start, valid while the organization version is unchanged
+    private final Map<String, Map<LocalDate, CachedHostingSchedule>> hostingSchedules = new ConcurrentHashMap<>();
 
     public DataService() {
         // Initialize organizations
-        organizations = Arrays.asList(
+        organizations = new CopyOnWriteArrayList<>(Arrays.asList(
             new Organization("org1", "Veterans United", "New York, NY"),
             new Organization("org2", "Heroes Association", "Los Angeles, CA"),
             new Organization("org3", "Freedom Veterans", "Chicago, IL")
-        );
+        ));
+        organizationsById = new ConcurrentHashMap<>();
+        for (Organization organization : organizations) {
+            organizationsById.put(organization.getId(), organization);
+        }
 
-        // Initialize users (passwords should be hashed in production)
-        users = Arrays.asList(
-            new User("1", "admin", "admin@veteranapp.com", "admin123", "Admin User", 
+        // Initialize users; passwords are BCrypt hashes of "admin123" and "password123"
+        users = new CopyOnWriteArrayList<>(Arrays.asList(
+            new User("1", "admin", "admin@veteranapp.com",
+                     "$2a$10$mBzPxAoORDktQHbSKaTo9eij/boF/MFLgv6HEwWC0YWpAgS/aboSG", "Admin User", 
                      Arrays.asList("org1", "org2", "org3")),
-            new User("2", "johndoe", "john.doe@example.com", "password123", "John Doe", 
+            new User("2", "johndoe", "john.doe@example.com",
+                     "$2a$10$jbLaMmleWg8acCzpfsA/SejZnORpKF2eJWjbEujBcUo.GFa1EedvK", "John Doe", 
                      Arrays.asList("org1", "org2")),
-            new User("3", "janedoe", "jane.doe@example.com", "password123", "Jane Doe", 
+            new User("3", "janedoe", "jane.doe@example.com",
+                     "$2a$10$jbLaMmleWg8acCzpfsA/SejZnORpKF2eJWjbEujBcUo.GFa1EedvK", "Jane Doe", 
                      Arrays.asList("org1"))
-        );
+        ));
+        usersByUsername = new ConcurrentHashMap<>();
+        usersById = new ConcurrentHashMap<>();
+        for (User user : users) {
+            usersByUsername.put(user.getUsername(), user);
+            usersById.put(user.getId(), user);
+        }
 
         // Initialize officials for each organization
-        officials = new ArrayList<>();
+        officials = new OrganizationIndex<>(Official::getOrganizationId);
         // org1 officials
         officials.add(new Official("org1", "Gen. James Mitchell", "President", "U.S. Army", 
                                    "https://example.com/james.jpg"));
@@ -60,7 +128,8 @@ public class DataService {
         officials.add(new Official("org3", "Col. Lisa Martinez", "Vice President", "U.S. Army", null));
 
         // Initialize news for each organization
-        newsList = new ArrayList<>();
+        newsList = new OrganizationIndex<>(News::getOrganizationId, null,
+                news -> DisplayDates.toEpochDay(news.getDate()));
         // org1 news
         newsList.add(new News("org1", "Annual Gala Dinner", 
                              "Join us for our annual gala dinner celebrating our veterans", 
@@ -93,7 +162,7 @@ public class DataService {
                              "Mar 08, 2026", "Announcement", null));
 
         // Initialize members for each organization
-        members = new ArrayList<>();
+        members = new OrganizationIndex<>(Member::getOrganizationId, Member::getId);
         // org1 members
         members.add(new Member("1", "org1", "John Smith", "New York, NY", true, "active", 
                               "Member", "U.S. Army"));
@@ -127,7 +196,8 @@ public class DataService {
                               "Member", "U.S. Air Force"));
 
         // Initialize meetings for each organization
-        meetings = new ArrayList<>();
+        meetings = new OrganizationIndex<>(Meeting::getOrganizationId, Meeting::getId,
+                meeting -> DisplayDates.toEpochDay(meeting.getDate()));
         // org1 meetings
         Meeting.ActionPoint ap1 = new Meeting.ActionPoint(
             "Update membership database", "Secretary", "Mar 01, 2026", "In Progress"
@@ -164,7 +234,7 @@ public class DataService {
         ));
 
         // Initialize constitutions
-        constitutions = new HashMap<>();
+        constitutions = new OrganizationIndex<>(Constitution::getOrganizationId, Constitution::getOrganizationId);
         
         // org1 constitution
         Constitution.Section s1 = new Constitution.Section("1.1", 
@@ -181,21 +251,23 @@ public class DataService {
         Constitution.Article a2 = new Constitution.Article("Article II: Membership", 
             Arrays.asList(s3, s4));
         
-        constitutions.put("org1", new Constitution(
+        constitutions.add(new Constitution(
             "org1", "Veterans United",
             Arrays.asList(a1, a2),
             "Jan 15, 2020", "Dec 10, 2025"
         ));
         
         // org2 constitution
-        constitutions.put("org2", new Constitution(
+        constitutions.add(new Constitution(
             "org2", "Heroes Association",
             Arrays.asList(a1),
             "Mar 20, 2019", "Nov 15, 2024"
         ));
 
-        // Initialize soccer match
+        // Initialize soccer match; the sample match has already been played
         currentSoccerMatch = createSoccerMatch();
+        currentSoccerMatch.setFinished(true);
+        matchHistory.append(currentSoccerMatch);
     }
 
     private SoccerMatch createSoccerMatch() {
@@ -242,15 +314,51 @@ public class DataService {
 
     // User methods
     public Optional<User> findUserByUsername(String username) {
-        return users.stream()
-                .filter(u -> u.getUsername().equals(username))
-                .findFirst();
+        return Optional.ofNullable(usersByUsername.get(username));
     }
 
     public Optional<User> findUserById(String userId) {
-        return users.stream()
-                .filter(u -> u.getId().equals(userId))
-                .findFirst();
+        return Optional.ofNullable(usersById.get(userId));
+    }
+
+    public void addUsers(Collection<User> newUsers) {
+        List<User> added = new ArrayList<>(newUsers);
+        commit(List.of(usersLock), new Mutation.UsersAdded(added), () -> applyUsersAdded(added));
+    }
+
+    /**
+     * Replaces the user's stored password hash, e.g. when it is re-hashed at a new strength.
+     *
+     * @return false if there is no such user
+     */
+    public boolean updateUserPassword(String userId, String password) {
+        if (!usersById.containsKey(userId)) {
+            return false;
+        }
+        return commit(List.of(usersLock), new Mutation.UserPasswordChanged(userId, password),
+                () -> applyUserPasswordChanged(userId, password));
+    }
+
+    // Stored users are shared with concurrent readers, so the change goes to a copy
+    private boolean applyUserPasswordChanged(String userId, String password) {
+        User user = usersById.get(userId);
+        if (user == null) {
+            return false;
+        }
+        User updated = new User(user.getId(), user.getUsername(), user.getEmail(), password, user.getName(),
+                user.getOrganizationIds());
+        users.replaceAll(existing -> existing == user ? updated : existing);
+        usersByUsername.put(updated.getUsername(), updated);
+        usersById.put(updated.getId(), updated);
+        return true;
+    }
+
+    private void applyUsersAdded(List<User> newUsers) {
+        users.addAll(newUsers);
+        for (User user : newUsers) {
+            usersByUsername.put(user.getUsername(), user);
+            usersById.put(user.getId(), user);
+        }
     }
 
     // Organization methods
@@ -259,51 +367,134 @@ public class DataService {
     }
 
     public Optional<Organization> getOrganizationById(String orgId) {
-        return organizations.stream()
-                .filter(o -> o.getId().equals(orgId))
-                .findFirst();
+        return Optional.ofNullable(organizationsById.get(orgId));
     }
 
-    public List<Organization> getOrganizationsByIds(List<String> orgIds) {
-        return organizations.stream()
-                .filter(o -> orgIds.contains(o.getId()))
+    public List<Organization> getOrganizationsByIds(Collection<String> orgIds) {
+        return orgIds.stream()
+                .map(organizationsById::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
+    public void addOrganizations(Collection<Organization> newOrganizations) {
+        List<Organization> added = new ArrayList<>(newOrganizations);
+        commit(List.of(organizationListLock), new Mutation.OrganizationsAdded(added),
+                () -> applyOrganizationsAdded(added));
+    }
+
+    private void applyOrganizationsAdded(List<Organization> newOrganizations) {
+        organizations.addAll(newOrganizations);
+        for (Organization organization : newOrganizations) {
+            organizationsById.put(organization.getId(), organization);
+        }
+    }
+
     // Officials methods
     public List<Official> getOfficialsByOrganization(String organizationId) {
-        return officials.stream()
-                .filter(o -> o.getOrganizationId().equals(organizationId))
-                .collect(Collectors.toList());
+        return officials.getByOrganization(organizationId);
     }
 
     // News methods
     public List<News> getNewsByOrganization(String organizationId) {
-        return newsList.stream()
-                .filter(n -> n.getOrganizationId().equals(organizationId))
-                .collect(Collectors.toList());
+        return newsList.getByOrganization(organizationId);
+    }
+
+    /**
+     * Returns the organization's news dated between {@code from} and {@code to} inclusive,
+     * newest first. Either bound may be {@code null} for an open range.
+     */
+    public List<News> getNewsBetween(String organizationId, LocalDate from, LocalDate to) {
+        return newsList.between(organizationId, fromDay(from), toDay(to));
+    }
+
+    public OrganizationIndex.Page<News> getNewsPage(String organizationId, long afterSequence, int limit) {
+        return newsList.page(organizationId, afterSequence, limit);
     }
 
     // Member methods
     public List<Member> getMembersByOrganization(String organizationId) {
-        return members.stream()
-                .filter(m -> m.getOrganizationId().equals(organizationId))
-                .collect(Collectors.toList());
+        return members.getByOrganization(organizationId);
+    }
+
+    public OrganizationIndex.Page<Member> getMembersPage(String organizationId, long afterSequence, int limit) {
+        return members.page(organizationId, afterSequence, limit);
     }
 
     public Optional<Member> getMemberById(String memberId, String organizationId) {
-        return members.stream()
-                .filter(m -> m.getId().equals(memberId) && m.getOrganizationId().equals(organizationId))
-                .findFirst();
+        return members.findById(organizationId, memberId);
+    }
+
+    /**
+     * Adds members in one index write per organization, for seeding large data sets.
+     */
+    public void addMembers(Collection<Member> newMembers) {
+        List<Member> added = new ArrayList<>(newMembers);
+        Set<String> organizationIds = new HashSet<>();
+        for (Member member : added) {
+            organizationIds.add(member.getOrganizationId());
+        }
+        commit(organizationLocks(organizationIds), new Mutation.MembersAdded(added), () -> applyMembersAdded(added));
+    }
+
+    private void applyMembersAdded(List<Member> newMembers) {
+        newMembers.forEach(DataService::shareVocabulary);
+        members.addAll(newMembers);
+        Map<String, List<Member>> byOrganization = new HashMap<>();
+        for (Member member : newMembers) {
+            byOrganization.computeIfAbsent(member.getOrganizationId(), k -> new ArrayList<>()).add(member);
+        }
+        byOrganization.forEach((organizationId, added) -> {
+            bumpOrganizationVersion(organizationId, MEMBER_CHANGE, added, Member::getId);
+            hostingSchedules.remove(organizationId);
+        });
+    }
+
+    // Statuses, roles, services and locations repeat across members, so one instance of each is shared
+    private static void shareVocabulary(Member member) {
+        StringDictionary dictionary = StringDictionary.SHARED;
+        member.setLocation(dictionary.intern(member.getLocation()));
+        member.setStatus(dictionary.intern(member.getStatus()));
+        member.setRole(dictionary.intern(member.getRole()));
+        member.setService(dictionary.intern(member.getService()));
     }
 
     public boolean updateMemberPayment(String memberId, String organizationId, Boolean isPaid) {
-        Optional<Member> memberOpt = getMemberById(memberId, organizationId);
-        if (memberOpt.isPresent()) {
-            memberOpt.get().setIsPaid(isPaid);
-            return true;
+        return !updateMemberPayments(organizationId, Collections.singletonMap(memberId, isPaid)).isEmpty();
+    }
+
+    /**
+     * Applies a batch of payment updates to one organization in a single index write.
+     *
+     * @param payments payment status by member id
+     * @return the updated members by id; unknown member ids are absent
+     */
+    public Map<String, Member> updateMemberPayments(String organizationId, Map<String, Boolean> payments) {
+        Map<String, Boolean> logged = new LinkedHashMap<>(payments);
+        return commit(organizationLocks(List.of(organizationId)), new Mutation.MemberPayments(organizationId, logged),
+                () -> applyMemberPayments(organizationId, logged));
+    }
+
+    private Map<String, Member> applyMemberPayments(String organizationId, Map<String, Boolean> payments) {
+        Map<String, UnaryOperator<Member>> updaters = new LinkedHashMap<>();
+        payments.forEach((memberId, isPaid) -> updaters.put(memberId, member -> {
+            Member copy = copyOf(member);
+            copy.setIsPaid(isPaid);
+            return copy;
+        }));
+        Map<String, Member> updated = members.updateAll(organizationId, updaters);
+        if (!updated.isEmpty()) {
+            bumpOrganizationVersion(organizationId, MEMBER_CHANGE, updated.values(), Member::getId);
+            // Hosts depend on payment status
+            hostingSchedules.remove(organizationId);
         }
-        return false;
+        return updated;
+    }
+
+    // Stored members are shared with concurrent readers, so writes go to a copy
+    private static Member copyOf(Member member) {
+        return new Member(member.getId(), member.getOrganizationId(), member.getName(), member.getLocation(),
+                member.getIsPaid(), member.getStatus(), member.getRole(), member.getService());
     }
 
     // Soccer methods
@@ -312,7 +503,158 @@ public class DataService {
     }
 
     public List<SoccerMatch> getSoccerHistory() {
-        return Collections.singletonList(currentSoccerMatch);
+        return matchHistory.getMatches();
+    }
+
+    /**
+     * Appends the current match to the history and its statistics. A finished match takes
+     * no further events until {@link #startMatch} replaces it.
+     *
+     * @return the finished match, or null if it was already finished
+     */
+    public SoccerMatch finishCurrentMatch() {
+        synchronized (soccerLock) {
+            if (isCurrentMatchFinished()) {
+                return null;
+            }
+            SoccerMatch match = copyOf(currentSoccerMatch);
+            match.setFinished(true);
+            commit(List.of(), new Mutation.SoccerMatchFinished(match), () -> applyMatchFinished(match));
+            matchEventBus.publish(new MatchEvent("finished", match));
+            return match;
+        }
+    }
+
+    /**
+     * Replaces a finished current match with a new one, scoreless and without events, taking
+     * its day, teams and referees from {@code details}. Subscribers receive it as a snapshot.
+     *
+     * @return the new match, or null if the current match is still in progress
+     */
+    public SoccerMatch startMatch(SoccerMatch details) {
+        synchronized (soccerLock) {
+            if (!isCurrentMatchFinished()) {
+                return null;
+            }
+            SoccerMatch match = new SoccerMatch(details.getMatchDay(), details.getHomeTeam(), details.getAwayTeam(),
+                    0, 0, details.getReferee(), details.getAssistantReferee1(), details.getAssistantReferee2(),
+                    new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), false);
+            updateCurrentMatch(match);
+            matchEventBus.publish(new MatchEvent("snapshot", match));
+            return match;
+        }
+    }
+
+    private boolean isCurrentMatchFinished() {
+        return Boolean.TRUE.equals(currentSoccerMatch.getFinished());
+    }
+
+    // Log entries written before matches carried the flag hold the match unmarked
+    private void applyMatchFinished(SoccerMatch match) {
+        SoccerMatch finished = match;
+        if (!Boolean.TRUE.equals(match.getFinished())) {
+            finished = copyOf(match);
+            finished.setFinished(true);
+        }
+        matchHistory.append(finished);
+        currentSoccerMatch = finished;
+    }
+
+    public List<LeaderboardEntry> getTopPlayers(String stat, int limit) {
+        return matchHistory.topPlayers(stat, limit);
+    }
+
+    public List<LeaderboardEntry> getTopTeams(String stat, int limit) {
+        return matchHistory.topTeams(stat, limit);
+    }
+
+    /**
+     * Subscribes to the live feed of the current match. Subscribing and publishing share the
+     * match lock, so the initial snapshot and the following events never overlap or leave a gap.
+     *
+     * @return unsubscribes the sink
+     */
+    public Runnable subscribeToCurrentMatch(MatchEventSink sink) {
+        synchronized (soccerLock) {
+            return matchEventBus.subscribe(sink, currentSoccerMatch);
+        }
+    }
+
+    /**
+     * Records a goal in the current match and updates the score of the scoring team.
+     *
+     * @return the updated match, or null if the current match is finished
+     * @throws IllegalArgumentException if the goal's team is neither "Home" nor "Away"
+     */
+    public SoccerMatch recordGoal(SoccerMatch.Goal goal) {
+        if (!SoccerMatch.isSide(goal.getTeam())) {
+            throw new IllegalArgumentException("Unknown team: " + goal.getTeam());
+        }
+        synchronized (soccerLock) {
+            if (isCurrentMatchFinished()) {
+                return null;
+            }
+            SoccerMatch match = copyOf(currentSoccerMatch);
+            match.getGoals().add(goal);
+            if (SoccerMatch.HOME.equals(goal.getTeam())) {
+                match.setHomeScore(match.getHomeScore() + 1);
+            } else {
+                match.setAwayScore(match.getAwayScore() + 1);
+            }
+            updateCurrentMatch(match);
+
+            Map<String, Integer> score = new HashMap<>();
+            score.put("homeScore", match.getHomeScore());
+            score.put("awayScore", match.getAwayScore());
+            matchEventBus.publish(new MatchEvent("goal", goal));
+            matchEventBus.publish(new MatchEvent("score", score));
+            return match;
+        }
+    }
+
+    /**
+     * @return the updated match, or null if the current match is finished
+     */
+    public SoccerMatch recordAssist(SoccerMatch.Assist assist) {
+        synchronized (soccerLock) {
+            if (isCurrentMatchFinished()) {
+                return null;
+            }
+            SoccerMatch match = copyOf(currentSoccerMatch);
+            match.getAssists().add(assist);
+            updateCurrentMatch(match);
+            matchEventBus.publish(new MatchEvent("assist", assist));
+            return match;
+        }
+    }
+
+    /**
+     * @return the updated match, or null if the current match is finished
+     */
+    public SoccerMatch recordCard(SoccerMatch.Card card, boolean red) {
+        synchronized (soccerLock) {
+            if (isCurrentMatchFinished()) {
+                return null;
+            }
+            SoccerMatch match = copyOf(currentSoccerMatch);
+            (red ? match.getRedCards() : match.getYellowCards()).add(card);
+            updateCurrentMatch(match);
+            matchEventBus.publish(new MatchEvent(red ? "red-card" : "yellow-card", card));
+            return match;
+        }
+    }
+
+    private void updateCurrentMatch(SoccerMatch match) {
+        // The caller holds the match lock
+        commit(List.of(), new Mutation.SoccerMatchUpdated(match), () -> currentSoccerMatch = match);
+    }
+
+    private static SoccerMatch copyOf(SoccerMatch match) {
+        return new SoccerMatch(match.getMatchDay(), match.getHomeTeam(), match.getAwayTeam(),
+                match.getHomeScore(), match.getAwayScore(), match.getReferee(),
+                match.getAssistantReferee1(), match.getAssistantReferee2(),
+                new ArrayList<>(match.getGoals()), new ArrayList<>(match.getAssists()),
+                new ArrayList<>(match.getYellowCards()), new ArrayList<>(match.getRedCards()), match.getFinished());
     }
 
     // Hosting methods
@@ -325,18 +667,34 @@ public class DataService {
     }
 
     private HostingSchedule generateHostingSchedule(String organizationId, boolean isNext) {
+        LocalDate now = LocalDate.now();
+        LocalDate currentPeriodStart = now.minusDays(now.getDayOfMonth() - 1); // Start of current month
+        LocalDate periodStart = isNext ? currentPeriodStart.plusMonths(1) : currentPeriodStart;
+
+        // Read the version before the members, so a concurrent write can only make the entry stale
+        long version = getOrganizationVersion(organizationId);
+        Map<LocalDate, CachedHostingSchedule> orgSchedules = hostingSchedules.get(organizationId);
+        CachedHostingSchedule cached = orgSchedules == null ? null : orgSchedules.get(periodStart);
+        if (cached != null && cached.version == version) {
+            return cached.schedule;
+        }
+
+        HostingSchedule schedule = buildHostingSchedule(organizationId, periodStart, isNext);
+        if (schedule != null) {
+            orgSchedules = hostingSchedules.computeIfAbsent(organizationId, k -> new ConcurrentHashMap<>());
+            // Periods before the current month can no longer be requested
+            orgSchedules.keySet().removeIf(start -> start.isBefore(currentPeriodStart));
+            orgSchedules.put(periodStart, new CachedHostingSchedule(version, schedule));
+        }
+        return schedule;
+    }
+
+    private HostingSchedule buildHostingSchedule(String organizationId, LocalDate periodStart, boolean isNext) {
         List<Member> orgMembers = getMembersByOrganization(organizationId);
         if (orgMembers.isEmpty()) {
             return null;
         }
 
-        LocalDate now = LocalDate.now();
-        LocalDate periodStart = now.minusDays(now.getDayOfMonth() - 1); // Start of current month
-        
-        if (isNext) {
-            periodStart = periodStart.plusMonths(1);
-        }
-        
         LocalDate periodEnd = periodStart.plusMonths(1).minusDays(1);
         
         // Select hosts (first 3 active paid members for demonstration)
@@ -345,33 +703,266 @@ public class DataService {
                 .limit(3)
                 .collect(Collectors.toList());
         
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE;
-        
+        // LocalDate prints as an ISO date without going through a formatter
         return new HostingSchedule(
                 isNext ? "schedule-next" : "schedule-current",
-                periodStart.format(formatter),
-                periodEnd.format(formatter),
+                periodStart.toString(),
+                periodEnd.toString(),
                 hosts,
                 orgMembers,
                 100.0
         );
     }
 
+    private static final class CachedHostingSchedule {
+        private final long version;
+        private final HostingSchedule schedule;
+
+        private CachedHostingSchedule(long version, HostingSchedule schedule) {
+            this.version = version;
+            this.schedule = schedule;
+        }
+    }
+
     // Meeting methods
     public List<Meeting> getMeetingsByOrganization(String organizationId) {
-        return meetings.stream()
-                .filter(m -> m.getOrganizationId().equals(organizationId))
-                .collect(Collectors.toList());
+        return meetings.getByOrganization(organizationId);
+    }
+
+    /**
+     * Returns the organization's meetings held between {@code from} and {@code to}
+     * inclusive, newest first. Either bound may be {@code null} for an open range.
+     */
+    public List<Meeting> getMeetingsBetween(String organizationId, LocalDate from, LocalDate to) {
+        return meetings.between(organizationId, fromDay(from), toDay(to));
+    }
+
+    // Open bounds stay clear of DisplayDates.UNKNOWN so they never match undated entities
+    private static long fromDay(LocalDate from) {
+        return from == null ? DisplayDates.UNKNOWN + 1 : from.toEpochDay();
+    }
+
+    private static long toDay(LocalDate to) {
+        return to == null ? Long.MAX_VALUE : to.toEpochDay();
+    }
+
+    public OrganizationIndex.Page<Meeting> getMeetingsPage(String organizationId, long afterSequence, int limit) {
+        return meetings.page(organizationId, afterSequence, limit);
     }
 
     public Optional<Meeting> getMeetingById(String meetingId, String organizationId) {
-        return meetings.stream()
-                .filter(m -> m.getId().equals(meetingId) && m.getOrganizationId().equals(organizationId))
-                .findFirst();
+        return meetings.findById(organizationId, meetingId);
+    }
+
+    // Persistence methods
+
+    /**
+     * Restores the persisted state, if any, over the built-in sample data: the latest
+     * snapshot is loaded, then the mutations logged after it are replayed. On the first
+     * start the sample data becomes the initial snapshot.
+     */
+    @PostConstruct
+    public void recover() {
+        snapshotLock.writeLock().lock();
+        try {
+            Optional<StorageEngine.RecoveredState> recovered = storage.recover();
+            if (recovered.isEmpty()) {
+                storage.snapshot(captureSnapshot());
+                return;
+            }
+            if (recovered.get().getSnapshot() != null) {
+                restore(recovered.get().getSnapshot());
+            }
+            recovered.get().getMutations().forEach(this::replay);
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Snapshots the final state on shutdown, so the next start has no log to replay.
+     */
+    @PreDestroy
+    public void persist() {
+        snapshotLock.writeLock().lock();
+        try {
+            storage.snapshot(captureSnapshot());
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Logs the mutation and applies it while holding {@code locks}, then snapshots the state
+     * once enough mutations have been logged. Writes holding different locks run in parallel,
+     * and a durable engine shares one disk flush among the appends waiting for it.
+     */
+    private void commit(List<Lock> locks, Mutation mutation, Runnable apply) {
+        commit(locks, mutation, () -> {
+            apply.run();
+            return null;
+        });
+    }
+
+    private <R> R commit(List<Lock> locks, Mutation mutation, Supplier<R> apply) {
+        boolean durable = storage.isDurable();
+        if (durable) {
+            snapshotLock.readLock().lock();
+        }
+        R result;
+        locks.forEach(Lock::lock);
+        try {
+            storage.append(mutation);
+            result = apply.get();
+        } finally {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+            if (durable) {
+                snapshotLock.readLock().unlock();
+            }
+        }
+        if (durable && storage.isSnapshotDue()) {
+            snapshotIfDue();
+        }
+        return result;
+    }
+
+    // One writer takes the snapshot; the others carry on without waiting for it
+    private void snapshotIfDue() {
+        if (!snapshotting.compareAndSet(false, true)) {
+            return;
+        }
+        snapshotLock.writeLock().lock();
+        try {
+            if (storage.isSnapshotDue()) {
+                storage.snapshot(captureSnapshot());
+            }
+        } finally {
+            snapshotLock.writeLock().unlock();
+            snapshotting.set(false);
+        }
+    }
+
+    // Locked in id order, so writes spanning several organizations cannot deadlock
+    private List<Lock> organizationLocks(Collection<String> organizationIds) {
+        List<Lock> locks = new ArrayList<>(organizationIds.size());
+        for (String organizationId : new TreeSet<>(organizationIds)) {
+            locks.add(organizationLocks.computeIfAbsent(organizationId, k -> new ReentrantLock()));
+        }
+        return locks;
+    }
+
+    private void replay(Mutation mutation) {
+        if (mutation instanceof Mutation.OrganizationsAdded added) {
+            applyOrganizationsAdded(added.getOrganizations());
+        } else if (mutation instanceof Mutation.UsersAdded added) {
+            applyUsersAdded(added.getUsers());
+        } else if (mutation instanceof Mutation.UserPasswordChanged changed) {
+            applyUserPasswordChanged(changed.getUserId(), changed.getPassword());
+        } else if (mutation instanceof Mutation.MembersAdded added) {
+            applyMembersAdded(added.getMembers());
+        } else if (mutation instanceof Mutation.MemberPayments payments) {
+            applyMemberPayments(payments.getOrganizationId(), payments.getPayments());
+        } else if (mutation instanceof Mutation.SoccerMatchUpdated updated) {
+            currentSoccerMatch = updated.getMatch();
+        } else if (mutation instanceof Mutation.SoccerMatchFinished finished) {
+            applyMatchFinished(finished.getMatch());
+        } else {
+            throw new IllegalStateException("Unknown mutation " + mutation.getClass().getSimpleName());
+        }
+    }
+
+    // Lists held by the indexes are immutable, so capturing them under the snapshot lock is enough
+    private DataSnapshot captureSnapshot() {
+        return new DataSnapshot(
+                new ArrayList<>(organizations),
+                new ArrayList<>(users),
+                officials.getAll(),
+                newsList.getAll(),
+                members.getAll(),
+                meetings.getAll(),
+                constitutions.getAll(),
+                currentSoccerMatch,
+                matchHistory.getMatches());
+    }
+
+    private void restore(DataSnapshot snapshot) {
+        organizations.clear();
+        organizations.addAll(snapshot.getOrganizations());
+        organizationsById.clear();
+        for (Organization organization : snapshot.getOrganizations()) {
+            organizationsById.put(organization.getId(), organization);
+        }
+        users.clear();
+        usersByUsername.clear();
+        usersById.clear();
+        applyUsersAdded(snapshot.getUsers());
+
+        // Each index builds an organization's partition on its first access
+        officials.load(snapshot.getOfficials());
+        newsList.load(snapshot.getNews());
+        members.load(snapshot.getMembers());
+        meetings.load(snapshot.getMeetings());
+        constitutions.load(snapshot.getConstitutions());
+
+        if (snapshot.getCurrentSoccerMatch() != null) {
+            currentSoccerMatch = snapshot.getCurrentSoccerMatch();
+        }
+        matchHistory.reset(snapshot.getMatchHistory());
+        hostingSchedules.clear();
+        changeLog.clear();
+    }
+
+    // Version methods
+    public long getDataEpoch() {
+        return dataEpoch;
+    }
+
+    /**
+     * Returns the organization's data version, which changes whenever any of its
+     * members, news, officials, meetings or constitution change.
+     */
+    public long getOrganizationVersion(String organizationId) {
+        AtomicLong version = organizationVersions.get(organizationId);
+        return version == null ? 0 : version.get();
+    }
+
+    /**
+     * Returns the entities of the organization changed after {@code sinceVersion}, each in
+     * its latest state. The result is incomplete when the version is older than the
+     * retained change log or was not issued by this run, and the client must reload.
+     */
+    public ChangeLog.Changes getChangesSince(String organizationId, long sinceVersion) {
+        return changeLog.changesSince(organizationId, sinceVersion);
+    }
+
+    /**
+     * Returns the version the organization's change log is current to. Unlike the
+     * organization version, it never runs ahead of the changes a sync can return.
+     */
+    public long getChangeLogVersion(String organizationId) {
+        return changeLog.version(organizationId);
+    }
+
+    @Value("${sync.change-log.max-entries:1000}")
+    void setChangeLogMaxEntries(int maxEntries) {
+        changeLog.setMaxEntries(maxEntries);
+    }
+
+    // Called under the organization's write lock, so versions are recorded in the order they are issued
+    private <T> void bumpOrganizationVersion(String organizationId, String type, Collection<T> changed,
+                                             Function<T, String> idOf) {
+        long version = organizationVersions.computeIfAbsent(organizationId, k -> new AtomicLong()).incrementAndGet();
+        List<ChangeLog.Change> changes = new ArrayList<>(changed.size());
+        for (T entity : changed) {
+            changes.add(new ChangeLog.Change(version, type, idOf.apply(entity), entity));
+        }
+        changeLog.record(organizationId, version, changes);
     }
 
     // Constitution methods
     public Optional<Constitution> getConstitutionByOrganization(String organizationId) {
-        return Optional.ofNullable(constitutions.get(organizationId));
+        return constitutions.findById(organizationId, organizationId);
     }
 }
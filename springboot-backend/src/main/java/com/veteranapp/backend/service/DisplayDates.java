@@ -0,0 +1,63 @@
+package com.veteranapp.backend.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Converts the display dates of news and meetings, such as {@code "Mar 15, 2026"}, to
+ * epoch days for sorting and range queries. ISO dates are accepted as well. Dates are
+ * parsed by hand rather than with a {@code DateTimeFormatter}, so the undated and
+ * malformed entries of an organization cost no exceptions.
+ */
+public final class DisplayDates {
+
+    /** Epoch day of a date that cannot be parsed; such entities are left out of range queries. */
+    public static final int UNKNOWN = Integer.MIN_VALUE;
+
+    private static final List<String> MONTHS =
+            List.of("Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec");
+
+    private DisplayDates() {
+    }
+
+    /**
+     * Returns the epoch day of a {@code "MMM d, yyyy"} or {@code "yyyy-MM-dd"} date, or
+     * {@link #UNKNOWN} if it is neither or names no valid day.
+     */
+    public static int toEpochDay(String date) {
+        if (date == null) {
+            return UNKNOWN;
+        }
+        if (date.length() == 10 && date.charAt(4) == '-' && date.charAt(7) == '-') {
+            return epochDay(digits(date, 0, 4), digits(date, 5, 7), digits(date, 8, 10));
+        }
+        // "Mar 5, 2026" or "Mar 15, 2026"
+        int comma = date.indexOf(", ");
+        if (date.length() < 11 || date.charAt(3) != ' ' || comma < 5 || comma > 6 || date.length() != comma + 6) {
+            return UNKNOWN;
+        }
+        return epochDay(digits(date, comma + 2, comma + 6), MONTHS.indexOf(date.substring(0, 3)) + 1,
+                digits(date, 4, comma));
+    }
+
+    // Value of the decimal digits in [from, to), or -1 if there is anything else
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int epochDay(int year, int month, int day) {
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > YearMonth.of(year, month).lengthOfMonth()) {
+            return UNKNOWN;
+        }
+        return (int) LocalDate.of(year, month, day).toEpochDay();
+    }
+}
@@ -0,0 +1,284 @@
+package com.veteranapp.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veteranapp.backend.dto.MatchEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory fan-out of live match events to Server-Sent Events subscribers.
+ *
+ * Each event is serialized once and offered to every subscriber's bounded buffer; a small
+ * dispatcher pool drains the buffers, so publishers never block on client I/O and
+ * connections hold no thread while idle. A subscriber whose buffer overflows is too slow
+ * to keep up and is disconnected; it can reconnect to get a fresh snapshot.
+ *
+ * Writes are blocking servlet I/O, so a client that stops reading can hold a dispatcher
+ * thread in {@code send}. A watchdog tracks every write in flight, including those of
+ * subscribers already evicted for overflowing, and detaches any subscriber whose write has
+ * been blocked longer than {@code soccer.stream.write-timeout}. It adds a dispatcher thread
+ * in place of the blocked one until the connector's own write timeout fails that write, up
+ * to {@code soccer.stream.max-replacement-threads} at a time, so stalled clients delay the
+ * other subscribers only once that many are stuck at once.
+ */
+@Component
+public class MatchEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchEventBus.class);
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final long writeTimeoutNanos;
+    private final int dispatcherThreads;
+    private final int maxReplacementThreads;
+    private final Executor dispatcher;
+    private final ScheduledExecutorService watchdog;
+    // Dispatcher threads added in place of threads blocked in a stalled write
+    private int replacementThreads;
+    // Set once the replacement cap is reached, so it is logged once per episode
+    private boolean replacementsExhausted;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Subscribers with a write in flight, whether or not they are still subscribed
+    private final Set<Subscriber> writers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong nextEventId = new AtomicLong(1);
+
+    public MatchEventBus(ObjectMapper objectMapper,
+                         @Value("${soccer.stream.buffer-size:64}") int bufferSize,
+                         @Value("${soccer.stream.dispatcher-threads:4}") int dispatcherThreads,
+                         @Value("${soccer.stream.write-timeout:2000}") long writeTimeout,
+                         @Value("${soccer.stream.max-replacement-threads:32}") int maxReplacementThreads,
+                         @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeout);
+        this.dispatcherThreads = dispatcherThreads;
+        this.maxReplacementThreads = maxReplacementThreads;
+        if (virtualThreads && JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            // One virtual thread per drain, so a subscriber blocked on a slow socket delays no one else
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("match-event-dispatcher-");
+            executor.setVirtualThreads(true);
+            this.dispatcher = executor;
+        } else {
+            this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads, runnable -> {
+                Thread thread = new Thread(runnable, "match-event-dispatcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "match-event-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(10, writeTimeout / 4);
+        watchdog.scheduleAtFixedRate(this::detachStalledSubscribers, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registers a new subscriber and queues {@code snapshot} as its first event, so the
+     * client starts from the full match state and then receives only increments.
+     *
+     * @return unsubscribes the sink, e.g. when its connection closes
+     */
+    public Runnable subscribe(MatchEventSink sink, Object snapshot) {
+        Subscriber subscriber = new Subscriber(sink, bufferSize);
+        subscribers.add(subscriber);
+        subscriber.queue.offer(serialize(new MatchEvent("snapshot", snapshot)));
+        schedule(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+
+    public void publish(MatchEvent event) {
+        SerializedEvent serialized = serialize(event);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.offer(serialized)) {
+                schedule(subscriber);
+            } else {
+                evict(subscriber);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        if (dispatcher instanceof ExecutorService) {
+            ((ExecutorService) dispatcher).shutdownNow();
+        } else if (dispatcher instanceof SimpleAsyncTaskExecutor) {
+            ((SimpleAsyncTaskExecutor) dispatcher).close();
+        }
+        subscribers.forEach(subscriber -> subscriber.sink.complete());
+        subscribers.clear();
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            SerializedEvent event;
+            while (!subscriber.stalled && (event = subscriber.queue.poll()) != null) {
+                startWrite(subscriber);
+                try {
+                    subscriber.sink.send(event.id, event.type, event.json);
+                } finally {
+                    endWrite(subscriber);
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client disconnected or the stream already completed
+            subscribers.remove(subscriber);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (subscriber.stalled) {
+            subscriber.sink.complete();
+            return;
+        }
+        // An event may have been queued after the last poll but before the flag was cleared
+        if (!subscriber.queue.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void startWrite(Subscriber subscriber) {
+        synchronized (subscriber) {
+            subscriber.writeStarted = System.nanoTime();
+            subscriber.writing = true;
+        }
+        writers.add(subscriber);
+    }
+
+    private void endWrite(Subscriber subscriber) {
+        writers.remove(subscriber);
+        synchronized (subscriber) {
+            subscriber.writing = false;
+            if (subscriber.replaced) {
+                subscriber.replaced = false;
+                resizeDispatcher(-1);
+            }
+        }
+    }
+
+    private void detachStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : writers) {
+            synchronized (subscriber) {
+                if (!subscriber.writing || subscriber.replaced || now - subscriber.writeStarted < writeTimeoutNanos) {
+                    continue;
+                }
+                subscriber.stalled = true;
+                if (dispatcher instanceof ThreadPoolExecutor && addReplacementThread()) {
+                    subscriber.replaced = true;
+                }
+            }
+            if (subscribers.remove(subscriber)) {
+                log.info("Disconnecting match stream subscriber whose write has been blocked for over {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(writeTimeoutNanos));
+            }
+        }
+    }
+
+    private synchronized boolean addReplacementThread() {
+        if (replacementThreads >= maxReplacementThreads) {
+            if (!replacementsExhausted) {
+                replacementsExhausted = true;
+                log.warn("{} match stream dispatcher threads are blocked on stalled clients; not adding more",
+                        replacementThreads);
+            }
+            return false;
+        }
+        resizeDispatcher(1);
+        return true;
+    }
+
+    private synchronized void resizeDispatcher(int delta) {
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) dispatcher;
+        replacementThreads += delta;
+        if (delta < 0) {
+            replacementsExhausted = false;
+        }
+        int size = dispatcherThreads + replacementThreads;
+        // The maximum may never drop below the core size
+        if (delta > 0) {
+            pool.setMaximumPoolSize(size);
+            pool.setCorePoolSize(size);
+        } else {
+            pool.setCorePoolSize(size);
+            pool.setMaximumPoolSize(size);
+        }
+    }
+
+    private void evict(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            log.info("Disconnecting slow match stream subscriber after {} buffered events", bufferSize);
+            // A sink may lock out complete() while a send is blocked, so the drain completes it
+            subscriber.stalled = true;
+            schedule(subscriber);
+        }
+    }
+
+    private SerializedEvent serialize(MatchEvent event) {
+        try {
+            return new SerializedEvent(nextEventId.getAndIncrement(), event.getType(),
+                    objectMapper.writeValueAsString(event.getData()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize match event " + event.getType(), e);
+        }
+    }
+
+    private static final class Subscriber {
+        private final MatchEventSink sink;
+        // Linked rather than array-backed so idle subscribers do not preallocate their full buffer
+        private final BlockingQueue<SerializedEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // Guarded by the subscriber's monitor
+        private boolean writing;
+        private long writeStarted;
+        // Set when the blocked write's dispatcher thread was replaced, until that write returns
+        private boolean replaced;
+        // Detached as too slow; the drain writes nothing more and completes the emitter
+        private volatile boolean stalled;
+
+        private Subscriber(MatchEventSink sink, int bufferSize) {
+            this.sink = sink;
+            this.queue = new LinkedBlockingQueue<>(bufferSize);
+        }
+    }
+
+    private static final class SerializedEvent {
+        private final long id;
+        private final String type;
+        private final String json;
+
+        private SerializedEvent(long id, String type, String json) {
+            this.id = id;
+            this.type = type;
+            this.json = json;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.veteranapp.backend.service;
+
+import java.io.IOException;
+
+/**
+ * Destination of one subscriber's live match events, such as a Server-Sent Events
+ * connection. {@link MatchEventBus} calls it from a single dispatcher thread at a time.
+ */
+public interface MatchEventSink {
+
+    /**
+     * Writes one event, with its data already serialized to JSON. May block on client I/O.
+     *
+     * @throws IOException if the client has gone away
+     */
+    void send(long id, String type, String json) throws IOException;
+
+    /**
+     * Ends the stream; no further events are sent.
+     */
+    void complete();
+}
@@ -0,0 +1,168 @@
+package com.veteranapp.backend.service;
+
+import com.veteranapp.backend.dto.LeaderboardEntry;
+import com.veteranapp.backend.model.SoccerMatch;
+
+import java.util.*;
+
+/**
+ * Append-only history of finished soccer matches with incrementally maintained player and
+ * team statistics. Each statistic keeps a sorted leaderboard that is adjusted as matches
+ * are appended, so a top-k query walks k entries instead of rescanning the history.
+ *
+ * Appending a match with the same day and teams as the latest one replaces it, which lets
+ * a finished match be corrected without double counting.
+ */
+public class MatchHistoryStore {
+
+    public static final List<String> PLAYER_STATS =
+            List.of("goals", "assists", "yellow-cards", "red-cards", "matches-refereed");
+    public static final List<String> TEAM_STATS =
+            List.of("matches", "wins", "draws", "losses", "goals-for", "goals-against", "yellow-cards", "red-cards");
+
+    private final List<SoccerMatch> matches = new ArrayList<>();
+    private volatile List<SoccerMatch> history = Collections.emptyList();
+    private final Map<String, Leaderboard> playerBoards = new HashMap<>();
+    private final Map<String, Leaderboard> teamBoards = new HashMap<>();
+
+    public MatchHistoryStore() {
+        PLAYER_STATS.forEach(stat -> playerBoards.put(stat, new Leaderboard()));
+        TEAM_STATS.forEach(stat -> teamBoards.put(stat, new Leaderboard()));
+    }
+
+    /**
+     * Appends a finished match. The match must not be mutated afterwards.
+     */
+    public synchronized void append(SoccerMatch match) {
+        if (!matches.isEmpty() && sameFixture(matches.get(matches.size() - 1), match)) {
+            apply(matches.remove(matches.size() - 1), -1);
+        }
+        matches.add(match);
+        apply(match, 1);
+        history = Collections.unmodifiableList(new ArrayList<>(matches));
+    }
+
+    /**
+     * Replaces the history with the given matches, rebuilding the statistics.
+     */
+    public synchronized void reset(List<SoccerMatch> finished) {
+        matches.clear();
+        playerBoards.replaceAll((stat, board) -> new Leaderboard());
+        teamBoards.replaceAll((stat, board) -> new Leaderboard());
+        for (SoccerMatch match : finished) {
+            matches.add(match);
+            apply(match, 1);
+        }
+        history = Collections.unmodifiableList(new ArrayList<>(matches));
+    }
+
+    /**
+     * Returns finished matches in the order they were appended.
+     */
+    public List<SoccerMatch> getMatches() {
+        return history;
+    }
+
+    /**
+     * @return the top players for {@code stat}, or {@code null} if the statistic is unknown
+     */
+    public synchronized List<LeaderboardEntry> topPlayers(String stat, int limit) {
+        Leaderboard board = playerBoards.get(stat);
+        return board == null ? null : board.top(limit);
+    }
+
+    /**
+     * @return the top teams for {@code stat}, or {@code null} if the statistic is unknown
+     */
+    public synchronized List<LeaderboardEntry> topTeams(String stat, int limit) {
+        Leaderboard board = teamBoards.get(stat);
+        return board == null ? null : board.top(limit);
+    }
+
+    private void apply(SoccerMatch match, int sign) {
+        for (SoccerMatch.Goal goal : match.getGoals()) {
+            playerBoards.get("goals").add(goal.getPlayerName(), sign);
+        }
+        for (SoccerMatch.Assist assist : match.getAssists()) {
+            playerBoards.get("assists").add(assist.getPlayerName(), sign);
+        }
+        for (SoccerMatch.Card card : match.getYellowCards()) {
+            playerBoards.get("yellow-cards").add(card.getPlayerName(), sign);
+            addTeamCard("yellow-cards", match, card, sign);
+        }
+        for (SoccerMatch.Card card : match.getRedCards()) {
+            playerBoards.get("red-cards").add(card.getPlayerName(), sign);
+            addTeamCard("red-cards", match, card, sign);
+        }
+        if (match.getReferee() != null) {
+            playerBoards.get("matches-refereed").add(match.getReferee(), sign);
+        }
+
+        int home = match.getHomeScore();
+        int away = match.getAwayScore();
+        applyTeamResult(match.getHomeTeam(), home, away, sign);
+        applyTeamResult(match.getAwayTeam(), away, home, sign);
+    }
+
+    private void applyTeamResult(String team, int goalsFor, int goalsAgainst, int sign) {
+        teamBoards.get("matches").add(team, sign);
+        teamBoards.get("goals-for").add(team, (long) goalsFor * sign);
+        teamBoards.get("goals-against").add(team, (long) goalsAgainst * sign);
+        String result = goalsFor > goalsAgainst ? "wins" : goalsFor == goalsAgainst ? "draws" : "losses";
+        teamBoards.get(result).add(team, sign);
+    }
+
+    // Cards recorded before sides were validated may name neither side; no team is charged
+    private void addTeamCard(String stat, SoccerMatch match, SoccerMatch.Card card, int sign) {
+        if (SoccerMatch.HOME.equals(card.getTeam())) {
+            teamBoards.get(stat).add(match.getHomeTeam(), sign);
+        } else if (SoccerMatch.AWAY.equals(card.getTeam())) {
+            teamBoards.get(stat).add(match.getAwayTeam(), sign);
+        }
+    }
+
+    private static boolean sameFixture(SoccerMatch a, SoccerMatch b) {
+        return Objects.equals(a.getMatchDay(), b.getMatchDay())
+                && Objects.equals(a.getHomeTeam(), b.getHomeTeam())
+                && Objects.equals(a.getAwayTeam(), b.getAwayTeam());
+    }
+
+    /**
+     * Totals by name, kept in descending order so the top k entries are read in O(k).
+     */
+    private static final class Leaderboard {
+        private static final Comparator<Map.Entry<String, Long>> ORDER =
+                Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+        private final Map<String, Long> totals = new HashMap<>();
+        private final TreeSet<Map.Entry<String, Long>> ranking = new TreeSet<>(ORDER);
+
+        private void add(String name, long delta) {
+            if (name == null || delta == 0) {
+                return;
+            }
+            Long previous = totals.get(name);
+            long total = (previous == null ? 0 : previous) + delta;
+            if (previous != null) {
+                ranking.remove(Map.entry(name, previous));
+            }
+            if (total > 0) {
+                totals.put(name, total);
+                ranking.add(Map.entry(name, total));
+            } else {
+                totals.remove(name);
+            }
+        }
+
+        private List<LeaderboardEntry> top(int limit) {
+            List<LeaderboardEntry> top = new ArrayList<>(Math.min(limit, ranking.size()));
+            for (Map.Entry<String, Long> entry : ranking) {
+                if (top.size() == limit) {
+                    break;
+                }
+                top.add(new LeaderboardEntry(entry.getKey(), entry.getValue()));
+            }
+            return top;
+        }
+    }
+}
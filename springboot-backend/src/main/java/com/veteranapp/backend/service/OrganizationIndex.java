@@ -0,0 +1,384 @@
+package com.veteranapp.backend.service;
+
+import lombok.Value;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory index for organization-scoped entities.
+ * Keeps an organizationId -> entities list and an (organizationId, id) -> entity map
+ * in step, so listings cost O(organization size) and id lookups are O(1).
+ *
+ * Each organization is its own partition holding an immutable snapshot. Readers never
+ * lock; writers lock only their organization's partition and publish a new snapshot,
+ * so a write in one organization never blocks another and readers never see torn state.
+ * Entities must be treated as immutable once added: updates replace them.
+ *
+ * Every entity gets a sequence number on insertion that never changes, giving a stable
+ * order for keyset pagination via {@link #page}.
+ *
+ * Indexes given a time function also answer date range queries via {@link #between}. Each
+ * entity's time is computed once, when it is added or replaced, and kept beside it. Each
+ * snapshot keeps its entities sorted by time, built from those times on the first range
+ * query against it, so a query is a binary search plus a slice.
+ *
+ * Entities restored through {@link #load} are kept as given until their organization is
+ * first accessed, so lists that decode on demand are only decoded for organizations in use.
+ */
+public class OrganizationIndex<T> {
+
+    private final Function<T, String> organizationIdOf;
+    private final Function<T, String> idOf;
+    private final ToIntFunction<T> timeOf;
+    private final Map<String, Partition<T>> partitions = new ConcurrentHashMap<>();
+    // Loaded entities of organizations without a partition yet, built on first access
+    private final Map<String, List<T>> pending = new ConcurrentHashMap<>();
+    private final AtomicLong nextSequence = new AtomicLong(1);
+
+    /**
+     * @param organizationIdOf extracts the owning organization of an entity
+     * @param idOf extracts the entity id, or {@code null} for entities without an id
+     * @param timeOf extracts the entity's time for range queries, such as an epoch day, or
+     *               {@code null} for entities without one; {@link DisplayDates#UNKNOWN}
+     *               leaves an entity out
+     */
+    public OrganizationIndex(Function<T, String> organizationIdOf, Function<T, String> idOf,
+                             ToIntFunction<T> timeOf) {
+        this.organizationIdOf = organizationIdOf;
+        this.idOf = idOf;
+        this.timeOf = timeOf;
+    }
+
+    public OrganizationIndex(Function<T, String> organizationIdOf, Function<T, String> idOf) {
+        this(organizationIdOf, idOf, null);
+    }
+
+    public OrganizationIndex(Function<T, String> organizationIdOf) {
+        this(organizationIdOf, null);
+    }
+
+    public void add(T entity) {
+        addAll(Collections.singletonList(entity));
+    }
+
+    /**
+     * Adds entities publishing one new snapshot per organization touched,
+     * which keeps bulk loads linear in the number of entities.
+     */
+    public void addAll(Collection<T> entities) {
+        Map<String, List<T>> grouped = new LinkedHashMap<>();
+        for (T entity : entities) {
+            grouped.computeIfAbsent(organizationIdOf.apply(entity), k -> new ArrayList<>()).add(entity);
+        }
+        grouped.forEach((organizationId, added) -> {
+            Partition<T> partition = partition(organizationId);
+            if (partition == null) {
+                partition = partitions.computeIfAbsent(organizationId, k -> new Partition<>());
+            }
+            synchronized (partition) {
+                partition.snapshot = partition.snapshot.append(added, idOf, timeOf, nextSequence);
+            }
+        });
+    }
+
+    /**
+     * Replaces the whole content of the index. An organization's list is only read when
+     * the organization is first accessed, or when {@link #getAll} hands it back unchanged.
+     * Meant for restoring persisted state before the index is in use.
+     */
+    public void load(Map<String, List<T>> entitiesByOrganization) {
+        partitions.clear();
+        pending.clear();
+        entitiesByOrganization.forEach((organizationId, entities) -> {
+            if (!entities.isEmpty()) {
+                pending.put(organizationId, entities);
+            }
+        });
+    }
+
+    /**
+     * Returns every organization's entities. Each list is an immutable snapshot; the lists
+     * of different organizations are consistent with each other only if no writes run
+     * concurrently.
+     */
+    public Map<String, List<T>> getAll() {
+        // Pending lists are copied first: a partition is installed before its pending list is removed
+        Map<String, List<T>> all = new HashMap<>(pending);
+        partitions.forEach((organizationId, partition) -> all.put(organizationId, partition.snapshot.items));
+        return all;
+    }
+
+    /**
+     * Replaces the entity with the given id by {@code updater}'s result under the
+     * organization's write lock.
+     *
+     * @return the replacement, or empty if no such entity exists
+     */
+    public Optional<T> update(String organizationId, String id, UnaryOperator<T> updater) {
+        Partition<T> partition = partition(organizationId);
+        if (partition == null) {
+            return Optional.empty();
+        }
+        synchronized (partition) {
+            Snapshot<T> snapshot = partition.snapshot;
+            Integer position = snapshot.positions.get(id);
+            if (position == null) {
+                return Optional.empty();
+            }
+            T replacement = updater.apply(snapshot.items.get(position));
+            partition.snapshot = snapshot.replace(position, replacement, timeOf);
+            return Optional.of(replacement);
+        }
+    }
+
+    /**
+     * Applies several updates to one organization under a single write lock, publishing
+     * one new snapshot for the whole batch.
+     *
+     * @param updaters replacement functions by entity id
+     * @return the replacements by id; ids with no matching entity are absent
+     */
+    public Map<String, T> updateAll(String organizationId, Map<String, UnaryOperator<T>> updaters) {
+        Partition<T> partition = partition(organizationId);
+        if (partition == null || updaters.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        synchronized (partition) {
+            Snapshot<T> snapshot = partition.snapshot;
+            Map<Integer, T> replacements = new HashMap<>();
+            Map<String, T> updated = new LinkedHashMap<>();
+            updaters.forEach((id, updater) -> {
+                Integer position = snapshot.positions.get(id);
+                if (position != null) {
+                    T replacement = updater.apply(snapshot.items.get(position));
+                    replacements.put(position, replacement);
+                    updated.put(id, replacement);
+                }
+            });
+            if (!replacements.isEmpty()) {
+                partition.snapshot = snapshot.replaceAll(replacements, timeOf);
+            }
+            return updated;
+        }
+    }
+
+    /**
+     * Returns the organization's entities. The list is an immutable snapshot and
+     * is not affected by later writes.
+     */
+    public List<T> getByOrganization(String organizationId) {
+        Partition<T> partition = partition(organizationId);
+        return partition == null ? Collections.emptyList() : partition.snapshot.items;
+    }
+
+    public Optional<T> findById(String organizationId, String id) {
+        Partition<T> partition = partition(organizationId);
+        if (partition == null) {
+            return Optional.empty();
+        }
+        Snapshot<T> snapshot = partition.snapshot;
+        Integer position = snapshot.positions.get(id);
+        return position == null ? Optional.empty() : Optional.of(snapshot.items.get(position));
+    }
+
+    /**
+     * Returns up to {@code limit} entities of the organization that come after the entity
+     * with sequence {@code afterSequence} in insertion order. The page is a view of an
+     * immutable snapshot, so no entities are copied.
+     *
+     * @param afterSequence sequence of the last entity already seen, or 0 to start at the beginning
+     */
+    public Page<T> page(String organizationId, long afterSequence, int limit) {
+        Partition<T> partition = partition(organizationId);
+        if (partition == null) {
+            return new Page<>(Collections.emptyList(), afterSequence, false);
+        }
+        Snapshot<T> snapshot = partition.snapshot;
+        int found = Arrays.binarySearch(snapshot.sequences, afterSequence);
+        int from = found >= 0 ? found + 1 : -(found + 1);
+        int to = (int) Math.min((long) from + limit, snapshot.items.size());
+        if (from >= to) {
+            return new Page<>(Collections.emptyList(), afterSequence, false);
+        }
+        return new Page<>(snapshot.items.subList(from, to), snapshot.sequences[to - 1], to < snapshot.items.size());
+    }
+
+    /**
+     * Returns the organization's entities whose time lies in {@code [from, to]}, newest
+     * first; entities with the same time keep their insertion order. The list is a view of
+     * an immutable snapshot.
+     */
+    public List<T> between(String organizationId, long from, long to) {
+        if (timeOf == null) {
+            throw new IllegalStateException("Index has no time function");
+        }
+        Partition<T> partition = partition(organizationId);
+        if (partition == null || from > to) {
+            return Collections.emptyList();
+        }
+        TimeIndex<T> byTime = partition.snapshot.byTime();
+        // Times are stored negated and ascending, so newest first
+        int start = firstPosition(byTime.negatedTimes, -to, false);
+        int end = firstPosition(byTime.negatedTimes, -from, true);
+        return byTime.items.subList(start, end);
+    }
+
+    // First position whose value is at least key, or exceeds it if strict
+    private static int firstPosition(int[] values, long key, boolean strict) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] < key || strict && values[middle] == key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the organization's partition, building it from the loaded entities on first access.
+     */
+    private Partition<T> partition(String organizationId) {
+        Partition<T> partition = partitions.get(organizationId);
+        if (partition != null || pending.isEmpty()) {
+            return partition;
+        }
+        List<T> loaded = pending.get(organizationId);
+        if (loaded == null) {
+            // Another thread may have built it since the first look
+            return partitions.get(organizationId);
+        }
+        // Built outside any lock; if two threads race, the first one installed wins
+        Partition<T> built = new Partition<>();
+        built.snapshot = built.snapshot.append(loaded, idOf, timeOf, nextSequence);
+        Partition<T> existing = partitions.putIfAbsent(organizationId, built);
+        pending.remove(organizationId, loaded);
+        return existing != null ? existing : built;
+    }
+
+    @Value
+    public static class Page<T> {
+        List<T> items;
+        long lastSequence;
+        boolean hasMore;
+    }
+
+    private static final class Partition<T> {
+        private volatile Snapshot<T> snapshot =
+                new Snapshot<>(Collections.emptyList(), new long[0], null, Collections.emptyMap());
+    }
+
+    private static final class Snapshot<T> {
+        private final List<T> items;
+        // Insertion sequence of each item, ascending
+        private final long[] sequences;
+        // Time of each item, or null if the index has no time function
+        private final int[] times;
+        private final Map<String, Integer> positions;
+        // Built on the first range query; racing builds produce equal indexes
+        private volatile TimeIndex<T> byTime;
+
+        private Snapshot(List<T> items, long[] sequences, int[] times, Map<String, Integer> positions) {
+            this.items = items;
+            this.sequences = sequences;
+            this.times = times;
+            this.positions = positions;
+        }
+
+        private Snapshot<T> append(List<T> added, Function<T, String> idOf, ToIntFunction<T> timeOf,
+                                   AtomicLong nextSequence) {
+            List<T> newItems = new ArrayList<>(items.size() + added.size());
+            newItems.addAll(items);
+            long[] newSequences = Arrays.copyOf(sequences, items.size() + added.size());
+            // Only the added entities' times are computed; the others are carried over
+            int[] newTimes = timeOf == null ? null
+                    : times == null ? new int[newSequences.length] : Arrays.copyOf(times, newSequences.length);
+            Map<String, Integer> newPositions = idOf == null ? positions : new HashMap<>(positions);
+            for (T entity : added) {
+                Integer existing = idOf == null ? null : newPositions.get(idOf.apply(entity));
+                int position = existing != null ? existing : newItems.size();
+                if (existing != null) {
+                    // Re-adding an id replaces the entity in place and keeps its sequence
+                    newItems.set(existing, entity);
+                } else {
+                    if (idOf != null) {
+                        newPositions.put(idOf.apply(entity), newItems.size());
+                    }
+                    newSequences[newItems.size()] = nextSequence.getAndIncrement();
+                    newItems.add(entity);
+                }
+                if (newTimes != null) {
+                    newTimes[position] = timeOf.applyAsInt(entity);
+                }
+            }
+            if (newItems.size() < newSequences.length) {
+                newSequences = Arrays.copyOf(newSequences, newItems.size());
+                newTimes = newTimes == null ? null : Arrays.copyOf(newTimes, newItems.size());
+            }
+            return new Snapshot<>(Collections.unmodifiableList(newItems), newSequences, newTimes,
+                    Collections.unmodifiableMap(newPositions));
+        }
+
+        private TimeIndex<T> byTime() {
+            TimeIndex<T> index = byTime;
+            if (index == null) {
+                index = new TimeIndex<>(items, times);
+                byTime = index;
+            }
+            return index;
+        }
+
+        private Snapshot<T> replace(int position, T entity, ToIntFunction<T> timeOf) {
+            return replaceAll(Collections.singletonMap(position, entity), timeOf);
+        }
+
+        private Snapshot<T> replaceAll(Map<Integer, T> replacements, ToIntFunction<T> timeOf) {
+            List<T> newItems = new ArrayList<>(items);
+            replacements.forEach(newItems::set);
+            int[] newTimes = times;
+            if (timeOf != null) {
+                newTimes = times.clone();
+                for (Map.Entry<Integer, T> replacement : replacements.entrySet()) {
+                    newTimes[replacement.getKey()] = timeOf.applyAsInt(replacement.getValue());
+                }
+            }
+            // Positions and sequences are stable across replacements, so both are shared
+            return new Snapshot<>(Collections.unmodifiableList(newItems), sequences, newTimes, positions);
+        }
+    }
+
+    private static final class TimeIndex<T> {
+        // Entities with a known time, newest first
+        private final List<T> items;
+        // Negated times of items, ascending
+        private final int[] negatedTimes;
+
+        private TimeIndex(List<T> entities, int[] times) {
+            // Each key packs an entity's negated time above its position, so sorting the keys
+            // orders by time, newest first, and keeps insertion order among equal times
+            long[] keys = new long[entities.size()];
+            int count = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (times[i] != DisplayDates.UNKNOWN) {
+                    keys[count++] = (long) -times[i] << 32 | i;
+                }
+            }
+            Arrays.sort(keys, 0, count);
+            List<T> sorted = new ArrayList<>(count);
+            negatedTimes = new int[count];
+            for (int i = 0; i < count; i++) {
+                sorted.add(entities.get((int) keys[i]));
+                negatedTimes[i] = (int) (keys[i] >> 32);
+            }
+            items = Collections.unmodifiableList(sorted);
+        }
+    }
+}
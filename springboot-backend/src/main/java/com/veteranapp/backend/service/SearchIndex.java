@@ -0,0 +1,378 @@
+package com.veteranapp.backend.service;
+
+import com.veteranapp.backend.dto.SearchHit;
+import com.veteranapp.backend.model.Constitution;
+import com.veteranapp.backend.model.Meeting;
+import com.veteranapp.backend.model.News;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over one organization's constitution sections, news and
+ * meeting minutes, ranked with BM25.
+ *
+ * The index tracks the entity lists it was built from. Lists held by
+ * {@link OrganizationIndex} are immutable and replaced on every write, and entities are
+ * replaced rather than modified, so {@link #update} compares them by identity and only
+ * re-indexes the entities that were added or removed. Queries run under a read lock and
+ * touch only the posting lists of the query terms.
+ */
+public class SearchIndex {
+
+    static final String CONSTITUTION = "constitution";
+    static final String NEWS = "news";
+    static final String MEETING = "meeting";
+
+    // Standard BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // Title terms count this many times, so a match in a title ranks above one in the body
+    private static final int TITLE_WEIGHT = 2;
+    private static final int SNIPPET_LENGTH = 160;
+
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "are", "as", "at", "be", "by", "for",
+            "from", "has", "in", "is", "it", "of", "on", "or", "that", "the", "this", "to", "was", "will", "with");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Documents by id; removed documents leave a null until the next compaction
+    private final List<Document> documents = new ArrayList<>();
+    // Term count of each document, or -1 once removed; read in the scoring loop
+    private int[] lengths = new int[16];
+    private final Map<String, Postings> postings = new HashMap<>();
+    // Source entity -> ids of the documents built from it
+    private final Map<Object, int[]> documentsBySource = new IdentityHashMap<>();
+    private int liveDocuments;
+    private int removedDocuments;
+    private long totalLength;
+
+    // What the index currently reflects, checked without locking
+    private volatile Constitution indexedConstitution;
+    private volatile List<News> indexedNews = Collections.emptyList();
+    private volatile List<Meeting> indexedMeetings = Collections.emptyList();
+
+    /**
+     * Brings the index in line with the organization's current documents, re-indexing only
+     * the entities that changed since the last call.
+     */
+    public void update(Constitution constitution, List<News> news, List<Meeting> meetings) {
+        if (constitution == indexedConstitution && news == indexedNews && meetings == indexedMeetings) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (constitution != indexedConstitution) {
+                replaceSources(indexedConstitution == null ? List.of() : List.of(indexedConstitution),
+                        constitution == null ? List.of() : List.of(constitution));
+                indexedConstitution = constitution;
+            }
+            if (news != indexedNews) {
+                replaceSources(indexedNews, news);
+                indexedNews = news;
+            }
+            if (meetings != indexedMeetings) {
+                replaceSources(indexedMeetings, meetings);
+                indexedMeetings = meetings;
+            }
+            if (removedDocuments > 64 && removedDocuments > liveDocuments) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} documents matching any of the query terms, best first.
+     */
+    public List<SearchHit> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            if (liveDocuments == 0) {
+                return Collections.emptyList();
+            }
+            double averageLength = (double) totalLength / liveDocuments;
+            int[] lengths = this.lengths;
+            double[] scores = new double[documents.size()];
+            int[] matched = new int[documents.size()];
+            int matchedCount = 0;
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null || list.live == 0) {
+                    continue;
+                }
+                double idf = Math.log(1 + (liveDocuments - list.live + 0.5) / (list.live + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int id = list.documents[i];
+                    int length = lengths[id];
+                    if (length < 0) {
+                        continue;
+                    }
+                    int frequency = list.frequencies[i];
+                    double norm = K1 * (1 - B + B * length / averageLength);
+                    if (scores[id] == 0) {
+                        matched[matchedCount++] = id;
+                    }
+                    scores[id] += idf * frequency * (K1 + 1) / (frequency + norm);
+                }
+            }
+
+            // Keep the best `limit` documents in a min-heap; most candidates fail the first comparison
+            PriorityQueue<Integer> best = new PriorityQueue<>(Comparator.comparingDouble((Integer id) -> scores[id])
+                    .thenComparing(Comparator.reverseOrder()));
+            for (int i = 0; i < matchedCount; i++) {
+                int id = matched[i];
+                if (best.size() < limit) {
+                    best.add(id);
+                } else if (scores[id] > scores[best.peek()]) {
+                    best.poll();
+                    best.add(id);
+                }
+            }
+            List<SearchHit> hits = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                int id = best.poll();
+                Document document = documents.get(id);
+                hits.add(new SearchHit(document.type, document.id, document.title, document.date,
+                        snippet(document.text, terms), scores[id]));
+            }
+            Collections.reverse(hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocuments;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void replaceSources(List<?> previous, List<?> current) {
+        Set<Object> currentSources = Collections.newSetFromMap(new IdentityHashMap<>());
+        currentSources.addAll(current);
+        for (Object source : previous) {
+            if (!currentSources.contains(source)) {
+                removeSource(source);
+            }
+        }
+        for (Object source : current) {
+            if (!documentsBySource.containsKey(source)) {
+                addSource(source);
+            }
+        }
+    }
+
+    private void addSource(Object source) {
+        List<Document> built = new ArrayList<>();
+        if (source instanceof News news) {
+            built.add(new Document(NEWS, null, news.getTitle(), news.getDate(), news.getDescription()));
+        } else if (source instanceof Meeting meeting) {
+            built.add(new Document(MEETING, meeting.getId(), meeting.getTitle(), meeting.getDate(),
+                    meeting.getMinutes()));
+        } else if (source instanceof Constitution constitution && constitution.getArticles() != null) {
+            // Each section is its own document, so a hit points at the rule itself
+            for (Constitution.Article article : constitution.getArticles()) {
+                if (article.getSections() != null) {
+                    for (Constitution.Section section : article.getSections()) {
+                        built.add(new Document(CONSTITUTION, section.getNumber(), article.getTitle(), null,
+                                section.getContent()));
+                    }
+                }
+            }
+        }
+        int[] ids = new int[built.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = addDocument(built.get(i));
+        }
+        documentsBySource.put(source, ids);
+    }
+
+    private int addDocument(Document document) {
+        int id = documents.size();
+        documents.add(document);
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : tokenize(document.title)) {
+            frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(document.text)) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new Postings()).add(id, entry.getValue());
+            length += entry.getValue();
+        }
+        document.length = length;
+        if (id == lengths.length) {
+            lengths = Arrays.copyOf(lengths, id * 2);
+        }
+        lengths[id] = length;
+        document.terms = frequencies.keySet().toArray(new String[0]);
+        liveDocuments++;
+        totalLength += length;
+        return id;
+    }
+
+    private void removeSource(Object source) {
+        int[] ids = documentsBySource.remove(source);
+        if (ids == null) {
+            return;
+        }
+        for (int id : ids) {
+            Document document = documents.set(id, null);
+            lengths[id] = -1;
+            // Posting entries stay until compaction; only the live counts change
+            for (String term : document.terms) {
+                postings.get(term).live--;
+            }
+            liveDocuments--;
+            removedDocuments++;
+            totalLength -= document.length;
+        }
+    }
+
+    // Renumbers the live documents and rebuilds the postings without the removed ones
+    private void compact() {
+        List<Document> live = new ArrayList<>(liveDocuments);
+        int[] newIds = new int[documents.size()];
+        for (int id = 0; id < documents.size(); id++) {
+            Document document = documents.get(id);
+            newIds[id] = live.size();
+            if (document != null) {
+                live.add(document);
+            }
+        }
+        documentsBySource.replaceAll((source, ids) -> {
+            int[] renumbered = new int[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                renumbered[i] = newIds[ids[i]];
+            }
+            return renumbered;
+        });
+        postings.values().removeIf(list -> list.live == 0);
+        for (Postings list : postings.values()) {
+            int kept = 0;
+            for (int i = 0; i < list.size; i++) {
+                if (documents.get(list.documents[i]) != null) {
+                    list.documents[kept] = newIds[list.documents[i]];
+                    list.frequencies[kept] = list.frequencies[i];
+                    kept++;
+                }
+            }
+            list.size = kept;
+        }
+        documents.clear();
+        documents.addAll(live);
+        lengths = new int[Math.max(16, live.size() * 2)];
+        for (int id = 0; id < live.size(); id++) {
+            lengths[id] = live.get(id).length;
+        }
+        removedDocuments = 0;
+    }
+
+    /**
+     * Splits text into lowercase letter-or-digit runs, dropping stop words and a trailing
+     * plural "s" so that "members" finds "member".
+     */
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = normalize(text.substring(start, i).toLowerCase(Locale.ROOT));
+                if (token != null) {
+                    tokens.add(token);
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static String normalize(String token) {
+        if (STOP_WORDS.contains(token)) {
+            return null;
+        }
+        if (token.length() > 3 && token.endsWith("s") && !token.endsWith("ss")) {
+            return token.substring(0, token.length() - 1);
+        }
+        return token;
+    }
+
+    // Text around the first occurrence of a query term, or the start of the text
+    private static String snippet(String text, List<String> terms) {
+        if (text == null) {
+            return null;
+        }
+        if (text.length() <= SNIPPET_LENGTH) {
+            return text;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int first = -1;
+        for (String term : terms) {
+            int found = lower.indexOf(term);
+            if (found >= 0 && (first < 0 || found < first)) {
+                first = found;
+            }
+        }
+        int start = Math.max(0, Math.min(first - SNIPPET_LENGTH / 4, text.length() - SNIPPET_LENGTH));
+        return (start > 0 ? "..." : "") + text.substring(start, start + SNIPPET_LENGTH)
+                + (start + SNIPPET_LENGTH < text.length() ? "..." : "");
+    }
+
+    private static final class Document {
+        private final String type;
+        private final String id;
+        private final String title;
+        private final String date;
+        private final String text;
+        private int length;
+        private String[] terms;
+
+        private Document(String type, String id, String title, String date, String text) {
+            this.type = type;
+            this.id = id;
+            this.title = title;
+            this.date = date;
+            this.text = text;
+        }
+    }
+
+    // Document ids in ascending order with their term frequencies
+    private static final class Postings {
+        private int[] documents = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+        // Entries whose document is not removed, i.e. the document frequency
+        private int live;
+
+        private void add(int document, int frequency) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            documents[size] = document;
+            frequencies[size] = frequency;
+            size++;
+            live++;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.veteranapp.backend.service;
+
+import com.veteranapp.backend.dto.SearchHit;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Full-text search over each organization's constitution, news and meeting minutes.
+ * An organization's {@link SearchIndex} is built on its first search and brought up to
+ * date incrementally before every later one, so organizations nobody searches cost nothing.
+ */
+@Component
+public class SearchService {
+
+    private final DataService dataService;
+    private final Map<String, SearchIndex> indexes = new ConcurrentHashMap<>();
+
+    public SearchService(DataService dataService) {
+        this.dataService = dataService;
+    }
+
+    public List<SearchHit> search(String organizationId, String query, int limit) {
+        if (dataService.getOrganizationById(organizationId).isEmpty()) {
+            return Collections.emptyList();
+        }
+        SearchIndex index = indexes.computeIfAbsent(organizationId, k -> new SearchIndex());
+        index.update(dataService.getConstitutionByOrganization(organizationId).orElse(null),
+                dataService.getNewsByOrganization(organizationId),
+                dataService.getMeetingsByOrganization(organizationId));
+        return index.search(query, limit);
+    }
+}
@@ -0,0 +1,18 @@
+package com.veteranapp.backend.service;
+
+import lombok.Value;
+
+/**
+ * A document serialized to JSON once for a given organization data version,
+ * optionally with a gzip-compressed copy of the same bytes.
+ */
+@Value
+public class SerializedDocument {
+    long version;
+    byte[] json;
+    byte[] gzippedJson;
+
+    public boolean hasGzippedJson() {
+        return gzippedJson != null;
+    }
+}
@@ -0,0 +1,121 @@
+package com.veteranapp.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bounded LRU cache of JSON-serialized documents such as constitutions and meetings.
+ * Entries are keyed by document and tagged with the organization data version they were
+ * serialized at, so any mutation in the organization makes them stale and the next
+ * request re-serializes once.
+ */
+@Component
+public class SerializedDocumentCache {
+
+    private final ObjectMapper objectMapper;
+    private final boolean gzip;
+    private final Map<String, SerializedDocument> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public SerializedDocumentCache(ObjectMapper objectMapper,
+                                   @Value("${response-cache.max-size:1000}") int maxSize,
+                                   @Value("${response-cache.gzip:true}") boolean gzip) {
+        this.objectMapper = objectMapper;
+        this.gzip = gzip;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SerializedDocument> eldest) {
+                boolean evict = size() > maxSize;
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Returns the document serialized at {@code version}, serializing the loader's result
+     * on a miss.
+     *
+     * @return the serialized document, or {@code null} if the loader finds no document
+     */
+    public SerializedDocument get(String kind, String organizationId, String documentId, long version,
+                                  Supplier<?> loader) {
+        String key = kind + ':' + organizationId + ':' + documentId;
+        SerializedDocument cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached != null && cached.getVersion() == version) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        Object document = loader.get();
+        if (document == null) {
+            return null;
+        }
+        byte[] json = serialize(document);
+        SerializedDocument serialized = new SerializedDocument(version, json, gzip ? compress(json) : null);
+        synchronized (entries) {
+            SerializedDocument current = entries.get(key);
+            // Never replace a newer version written by a concurrent request
+            if (current == null || current.getVersion() < version) {
+                entries.put(key, serialized);
+            }
+        }
+        return serialized;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private byte[] serialize(Object document) {
+        try {
+            return objectMapper.writeValueAsBytes(document);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + document.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static byte[] compress(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2 + 32);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,47 @@
+package com.veteranapp.backend.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonical instances for strings drawn from small vocabularies, such as member statuses,
+ * roles and service branches. Entities that hold the canonical instance share one copy of
+ * each value instead of each holding its own, while still exposing plain strings.
+ *
+ * The dictionary is bounded: once it is full, unseen values are returned as they are, so a
+ * field that turns out to have high cardinality cannot make it grow without limit.
+ */
+public final class StringDictionary {
+
+    /** Dictionary shared by the store and the snapshot decoder. */
+    public static final StringDictionary SHARED = new StringDictionary(10_000);
+
+    private final int capacity;
+    private final Map<String, String> entries = new ConcurrentHashMap<>();
+
+    public StringDictionary(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the canonical instance equal to {@code value}, adding it if there is room.
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String canonical = entries.get(value);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (entries.size() >= capacity) {
+            return value;
+        }
+        canonical = entries.putIfAbsent(value, value);
+        return canonical == null ? value : canonical;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
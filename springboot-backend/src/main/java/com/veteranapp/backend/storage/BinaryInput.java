@@ -0,0 +1,89 @@
+package com.veteranapp.backend.storage;
+
+import com.veteranapp.backend.service.StringDictionary;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Reads values written by {@link BinaryOutput} from a buffer, typically a slice of a
+ * memory-mapped snapshot file.
+ */
+final class BinaryInput {
+
+    private final ByteBuffer buffer;
+    private byte[] scratch = new byte[64];
+
+    BinaryInput(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    long readVarint() {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift > 63) {
+                throw new IllegalStateException("Malformed varint in snapshot");
+            }
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    String readString() {
+        long length = readVarint();
+        if (length == 0) {
+            return null;
+        }
+        int bytes = (int) (length - 1);
+        if (scratch.length < bytes) {
+            scratch = new byte[Math.max(bytes, scratch.length * 2)];
+        }
+        buffer.get(scratch, 0, bytes);
+        return new String(scratch, 0, bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a string from a small vocabulary, returning the shared instance for it.
+     */
+    String readSymbol() {
+        return StringDictionary.SHARED.intern(readString());
+    }
+
+    Boolean readBoolean() {
+        long value = readVarint();
+        return value == 0 ? null : value == 2;
+    }
+
+    Integer readInteger() {
+        long value = readVarint();
+        if (value == 0) {
+            return null;
+        }
+        int zigzag = (int) (value - 1);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    Double readDouble() {
+        return readVarint() == 0 ? null : Double.longBitsToDouble(buffer.getLong());
+    }
+
+    <T> List<T> readList(Function<BinaryInput, T> readItem) {
+        long length = readVarint();
+        if (length == 0) {
+            return null;
+        }
+        int size = (int) (length - 1);
+        List<T> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readItem.apply(this));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,86 @@
+package com.veteranapp.backend.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Growable buffer for the compact snapshot encoding. Lengths and integers are unsigned
+ * LEB128 varints, and every value is nullable: null is encoded as 0, so a present value is
+ * stored shifted by one.
+ */
+final class BinaryOutput {
+
+    private byte[] buffer = new byte[1024];
+    private int size;
+
+    void writeVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    void writeString(String value) {
+        if (value == null) {
+            writeVarint(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(bytes.length + 1L);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    void writeBoolean(Boolean value) {
+        writeVarint(value == null ? 0 : value ? 2 : 1);
+    }
+
+    void writeInteger(Integer value) {
+        if (value == null) {
+            writeVarint(0);
+            return;
+        }
+        // Zigzag keeps small negative numbers short
+        int zigzag = (value << 1) ^ (value >> 31);
+        writeVarint((zigzag & 0xFFFFFFFFL) + 1);
+    }
+
+    void writeDouble(Double value) {
+        if (value == null) {
+            writeVarint(0);
+            return;
+        }
+        writeVarint(1);
+        long bits = Double.doubleToLongBits(value);
+        ensureCapacity(Long.BYTES);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (bits >>> shift);
+        }
+    }
+
+    <T> void writeList(List<T> values, BiConsumer<BinaryOutput, T> writeItem) {
+        if (values == null) {
+            writeVarint(0);
+            return;
+        }
+        writeVarint(values.size() + 1L);
+        for (T value : values) {
+            writeItem.accept(this, value);
+        }
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void ensureCapacity(int additional) {
+        if (size + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+        }
+    }
+}
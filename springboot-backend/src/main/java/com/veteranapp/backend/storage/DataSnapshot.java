@@ -0,0 +1,25 @@
+package com.veteranapp.backend.storage;
+
+import com.veteranapp.backend.model.*;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Point-in-time copy of all data held by {@code DataService}. Organization-scoped
+ * entities are grouped by organization id, which is also how they are laid out on disk,
+ * so each organization can be decoded and indexed independently.
+ */
+@Value
+public class DataSnapshot {
+    List<Organization> organizations;
+    List<User> users;
+    Map<String, List<Official>> officials;
+    Map<String, List<News>> news;
+    Map<String, List<Member>> members;
+    Map<String, List<Meeting>> meetings;
+    Map<String, List<Constitution>> constitutions;
+    SoccerMatch currentSoccerMatch;
+    List<SoccerMatch> matchHistory;
+}
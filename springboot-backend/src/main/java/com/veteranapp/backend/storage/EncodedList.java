@@ -0,0 +1,84 @@
+package com.veteranapp.backend.storage;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.zip.CRC32;
+
+/**
+ * Immutable list backed by an encoded snapshot chunk, usually a slice of a memory-mapped
+ * file. Nothing is decoded until an element is first read, so organizations that are never
+ * accessed cost only their share of the page cache. The chunk checksum is verified on that
+ * first decode rather than at startup.
+ */
+final class EncodedList<T> extends AbstractList<T> implements RandomAccess {
+
+    private final ByteBuffer encoded;
+    private final int checksum;
+    private final int size;
+    private final EntityCodecs.EntityCodec<T> codec;
+    private final String description;
+    private volatile List<T> decoded;
+
+    EncodedList(ByteBuffer encoded, int checksum, int size, EntityCodecs.EntityCodec<T> codec, String description) {
+        this.encoded = encoded;
+        this.checksum = checksum;
+        this.size = size;
+        this.codec = codec;
+        this.description = description;
+    }
+
+    @Override
+    public T get(int index) {
+        return decoded().get(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a copy of the encoded chunk, which lets an unchanged list be written to the
+     * next snapshot without decoding it.
+     */
+    byte[] encodedBytes() {
+        byte[] bytes = new byte[encoded.remaining()];
+        encoded.duplicate().get(bytes);
+        return bytes;
+    }
+
+    int checksum() {
+        return checksum;
+    }
+
+    List<T> decoded() {
+        List<T> result = decoded;
+        if (result == null) {
+            synchronized (this) {
+                result = decoded;
+                if (result == null) {
+                    result = decode();
+                    decoded = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private List<T> decode() {
+        ByteBuffer buffer = encoded.duplicate();
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            throw new IllegalStateException("Checksum mismatch in snapshot chunk " + description);
+        }
+        List<T> items = new BinaryInput(buffer).readList(codec::read);
+        if (items == null || items.size() != size) {
+            throw new IllegalStateException("Snapshot chunk " + description + " does not match its directory entry");
+        }
+        return Collections.unmodifiableList(items);
+    }
+}
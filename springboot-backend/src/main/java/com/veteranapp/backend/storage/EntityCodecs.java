@@ -0,0 +1,226 @@
+package com.veteranapp.backend.storage;
+
+import com.veteranapp.backend.model.*;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Binary encodings of the model entities used in snapshots. Fields are written in
+ * declaration order with no names or type tags, so a field added to a model class needs
+ * its codec extended and the snapshot magic bumped. Low-cardinality fields are read with
+ * {@link BinaryInput#readSymbol}, so decoded entities share one instance per value.
+ */
+final class EntityCodecs {
+
+    static final EntityCodec<Organization> ORGANIZATION = new EntityCodec<>(
+            (out, organization) -> {
+                out.writeString(organization.getId());
+                out.writeString(organization.getName());
+                out.writeString(organization.getLocation());
+            },
+            in -> new Organization(in.readString(), in.readString(), in.readString()));
+
+    static final EntityCodec<User> USER = new EntityCodec<>(
+            (out, user) -> {
+                out.writeString(user.getId());
+                out.writeString(user.getUsername());
+                out.writeString(user.getEmail());
+                out.writeString(user.getPassword());
+                out.writeString(user.getName());
+                out.writeList(user.getOrganizationIds(), BinaryOutput::writeString);
+            },
+            in -> new User(in.readString(), in.readString(), in.readString(), in.readString(), in.readString(),
+                    in.readList(BinaryInput::readString)));
+
+    static final EntityCodec<Official> OFFICIAL = new EntityCodec<>(
+            (out, official) -> {
+                out.writeString(official.getOrganizationId());
+                out.writeString(official.getName());
+                out.writeString(official.getRole());
+                out.writeString(official.getService());
+                out.writeString(official.getImageUrl());
+            },
+            in -> new Official(in.readString(), in.readString(), in.readSymbol(), in.readSymbol(), in.readString()));
+
+    static final EntityCodec<News> NEWS = new EntityCodec<>(
+            (out, news) -> {
+                out.writeString(news.getOrganizationId());
+                out.writeString(news.getTitle());
+                out.writeString(news.getDescription());
+                out.writeString(news.getDate());
+                out.writeString(news.getCategory());
+                out.writeString(news.getImageUrl());
+            },
+            in -> new News(in.readString(), in.readString(), in.readString(), in.readString(), in.readSymbol(),
+                    in.readString()));
+
+    static final EntityCodec<Member> MEMBER = new EntityCodec<>(
+            (out, member) -> {
+                out.writeString(member.getId());
+                out.writeString(member.getOrganizationId());
+                out.writeString(member.getName());
+                out.writeString(member.getLocation());
+                out.writeBoolean(member.getIsPaid());
+                out.writeString(member.getStatus());
+                out.writeString(member.getRole());
+                out.writeString(member.getService());
+            },
+            in -> new Member(in.readString(), in.readString(), in.readString(), in.readSymbol(), in.readBoolean(),
+                    in.readSymbol(), in.readSymbol(), in.readSymbol()));
+
+    private static final EntityCodec<Meeting.ActionPoint> ACTION_POINT = new EntityCodec<>(
+            (out, actionPoint) -> {
+                out.writeString(actionPoint.getDescription());
+                out.writeString(actionPoint.getAssignedTo());
+                out.writeString(actionPoint.getDeadline());
+                out.writeString(actionPoint.getStatus());
+            },
+            in -> new Meeting.ActionPoint(in.readString(), in.readString(), in.readString(), in.readString()));
+
+    private static final EntityCodec<Meeting.Fine> FINE = new EntityCodec<>(
+            (out, fine) -> {
+                out.writeString(fine.getMemberName());
+                out.writeDouble(fine.getAmount());
+                out.writeString(fine.getReason());
+            },
+            in -> new Meeting.Fine(in.readString(), in.readDouble(), in.readString()));
+
+    static final EntityCodec<Meeting> MEETING = new EntityCodec<>(
+            (out, meeting) -> {
+                out.writeString(meeting.getId());
+                out.writeString(meeting.getOrganizationId());
+                out.writeString(meeting.getTitle());
+                out.writeString(meeting.getDate());
+                out.writeString(meeting.getVenue());
+                out.writeInteger(meeting.getAttendance());
+                out.writeString(meeting.getMinutes());
+                out.writeList(meeting.getActionPoints(), ACTION_POINT::write);
+                out.writeList(meeting.getFines(), FINE::write);
+            },
+            in -> new Meeting(in.readString(), in.readString(), in.readString(), in.readString(), in.readString(),
+                    in.readInteger(), in.readString(), in.readList(ACTION_POINT::read), in.readList(FINE::read)));
+
+    private static final EntityCodec<Constitution.Section> SECTION = new EntityCodec<>(
+            (out, section) -> {
+                out.writeString(section.getNumber());
+                out.writeString(section.getContent());
+            },
+            in -> new Constitution.Section(in.readString(), in.readString()));
+
+    private static final EntityCodec<Constitution.Article> ARTICLE = new EntityCodec<>(
+            (out, article) -> {
+                out.writeString(article.getTitle());
+                out.writeList(article.getSections(), SECTION::write);
+            },
+            in -> new Constitution.Article(in.readString(), in.readList(SECTION::read)));
+
+    static final EntityCodec<Constitution> CONSTITUTION = new EntityCodec<>(
+            (out, constitution) -> {
+                out.writeString(constitution.getOrganizationId());
+                out.writeString(constitution.getOrganizationName());
+                out.writeList(constitution.getArticles(), ARTICLE::write);
+                out.writeString(constitution.getAdoptedDate());
+                out.writeString(constitution.getLastAmended());
+            },
+            in -> new Constitution(in.readString(), in.readString(), in.readList(ARTICLE::read), in.readString(),
+                    in.readString()));
+
+    private static final EntityCodec<SoccerMatch.Goal> GOAL = new EntityCodec<>(
+            (out, goal) -> {
+                out.writeString(goal.getPlayerName());
+                out.writeString(goal.getMinute());
+                out.writeString(goal.getTeam());
+            },
+            in -> new SoccerMatch.Goal(in.readString(), in.readString(), in.readString()));
+
+    private static final EntityCodec<SoccerMatch.Assist> ASSIST = new EntityCodec<>(
+            (out, assist) -> {
+                out.writeString(assist.getPlayerName());
+                out.writeString(assist.getMinute());
+                out.writeString(assist.getTeam());
+            },
+            in -> new SoccerMatch.Assist(in.readString(), in.readString(), in.readString()));
+
+    private static final EntityCodec<SoccerMatch.Card> CARD = new EntityCodec<>(
+            (out, card) -> {
+                out.writeString(card.getPlayerName());
+                out.writeString(card.getMinute());
+                out.writeString(card.getTeam());
+                out.writeString(card.getReason());
+            },
+            in -> new SoccerMatch.Card(in.readString(), in.readString(), in.readString(), in.readString()));
+
+    static final EntityCodec<SoccerMatch> SOCCER_MATCH =
+            new EntityCodec<>(EntityCodecs::writeSoccerMatch, EntityCodecs::readSoccerMatch);
+
+    // Same encoding: history entries are all finished, so the flag is implied rather than stored
+    static final EntityCodec<SoccerMatch> FINISHED_SOCCER_MATCH = new EntityCodec<>(
+            EntityCodecs::writeSoccerMatch,
+            in -> {
+                SoccerMatch match = readSoccerMatch(in);
+                match.setFinished(true);
+                return match;
+            });
+
+    // The current match carries its finished flag after the common fields
+    static final EntityCodec<SoccerMatch> CURRENT_SOCCER_MATCH = new EntityCodec<>(
+            (out, match) -> {
+                writeSoccerMatch(out, match);
+                out.writeBoolean(match.getFinished());
+            },
+            in -> {
+                SoccerMatch match = readSoccerMatch(in);
+                match.setFinished(in.readBoolean());
+                return match;
+            });
+
+    private static void writeSoccerMatch(BinaryOutput out, SoccerMatch match) {
+        out.writeString(match.getMatchDay());
+        out.writeString(match.getHomeTeam());
+        out.writeString(match.getAwayTeam());
+        out.writeInteger(match.getHomeScore());
+        out.writeInteger(match.getAwayScore());
+        out.writeString(match.getReferee());
+        out.writeString(match.getAssistantReferee1());
+        out.writeString(match.getAssistantReferee2());
+        out.writeList(match.getGoals(), GOAL::write);
+        out.writeList(match.getAssists(), ASSIST::write);
+        out.writeList(match.getYellowCards(), CARD::write);
+        out.writeList(match.getRedCards(), CARD::write);
+    }
+
+    private static SoccerMatch readSoccerMatch(BinaryInput in) {
+        return new SoccerMatch(in.readString(), in.readString(), in.readString(), in.readInteger(),
+                in.readInteger(), in.readString(), in.readString(), in.readString(), in.readList(GOAL::read),
+                in.readList(ASSIST::read), in.readList(CARD::read), in.readList(CARD::read), null);
+    }
+
+    private EntityCodecs() {
+    }
+
+    /**
+     * Writes and reads one entity. A leading presence flag lets lists hold nulls, as they
+     * could in the JSON documents the entities come from.
+     */
+    static final class EntityCodec<T> {
+        private final BiConsumer<BinaryOutput, T> writer;
+        private final Function<BinaryInput, T> reader;
+
+        EntityCodec(BiConsumer<BinaryOutput, T> writer, Function<BinaryInput, T> reader) {
+            this.writer = writer;
+            this.reader = reader;
+        }
+
+        void write(BinaryOutput out, T value) {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                writer.accept(out, value);
+            }
+        }
+
+        T read(BinaryInput in) {
+            return in.readBoolean() ? reader.apply(in) : null;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.veteranapp.backend.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded file-based engine: every mutation is appended to a write-ahead log before it
+ * is applied, and every {@code snapshotEvery} mutations the full state is written to a
+ * snapshot in the background. Log segments older than the latest snapshot are deleted,
+ * so recovery reads one snapshot plus at most about {@code snapshotEvery} log records,
+ * however long the history.
+ *
+ * The snapshot is memory-mapped on recovery and, when lazy, each organization's data is
+ * only decoded on first access, so startup time and heap grow with the organizations in
+ * use rather than with the whole data set.
+ */
+public class FileStorageEngine implements StorageEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(FileStorageEngine.class);
+
+    static final String SNAPSHOT_FILE = "snapshot.bin";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final int snapshotEvery;
+    private final int recoveryThreads;
+    private final boolean lazySnapshot;
+    private final WriteAheadLog wal;
+    private final ExecutorService snapshotWriter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "snapshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicInteger mutationsSinceSnapshot = new AtomicInteger();
+    // Only changed by recover and snapshot, which never run concurrently with appends
+    private long lastSnapshotLsn = -1;
+    private volatile boolean recovered;
+
+    /**
+     * @param fsync whether each append is forced to disk before it returns
+     * @param recoveryThreads threads decoding an eager snapshot on startup, or 0 for one per processor
+     * @param lazySnapshot whether organizations are decoded on first access rather than on startup
+     */
+    public FileStorageEngine(Path directory, ObjectMapper objectMapper, boolean fsync, int snapshotEvery,
+                             int recoveryThreads, boolean lazySnapshot) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+        this.snapshotEvery = snapshotEvery;
+        this.recoveryThreads = recoveryThreads > 0 ? recoveryThreads : Runtime.getRuntime().availableProcessors();
+        this.lazySnapshot = lazySnapshot;
+        this.wal = new WriteAheadLog(directory, fsync);
+    }
+
+    @Override
+    public Optional<RecoveredState> recover() {
+        try {
+            Files.createDirectories(directory);
+            long started = System.nanoTime();
+
+            Path snapshotPath = directory.resolve(SNAPSHOT_FILE);
+            SnapshotFile.Contents contents = null;
+            if (Files.exists(snapshotPath) && lazySnapshot) {
+                contents = SnapshotFile.read(snapshotPath, null);
+            } else if (Files.exists(snapshotPath)) {
+                ForkJoinPool pool = new ForkJoinPool(recoveryThreads);
+                try {
+                    contents = SnapshotFile.read(snapshotPath, pool);
+                } finally {
+                    pool.shutdown();
+                }
+            }
+            long snapshotLsn = contents == null ? 0 : contents.lsn;
+            lastSnapshotLsn = contents == null ? -1 : contents.lsn;
+
+            List<Mutation> mutations = new ArrayList<>();
+            for (WriteAheadLog.Record record : wal.recover(snapshotLsn)) {
+                mutations.add(objectMapper.readValue(record.payload, Mutation.class));
+            }
+            mutationsSinceSnapshot.set(mutations.size());
+            recovered = true;
+
+            if (contents == null && mutations.isEmpty()) {
+                log.info("No stored data in {}, starting from the sample data", directory);
+                return Optional.empty();
+            }
+            log.info("Recovered storage in {}: snapshot at LSN {}, {} logged mutations replayed in {} ms",
+                    directory, snapshotLsn, mutations.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            return Optional.of(new RecoveredState(contents == null ? null : contents.snapshot, mutations));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to recover storage in " + directory, e);
+        }
+    }
+
+    @Override
+    public void append(Mutation mutation) {
+        if (!recovered) {
+            throw new IllegalStateException("recover() must be called before appending");
+        }
+        try {
+            // Serialized before taking the log's append lock, and flushed after releasing it
+            long lsn = wal.append(objectMapper.writeValueAsBytes(mutation));
+            mutationsSinceSnapshot.incrementAndGet();
+            wal.sync(lsn);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to the write-ahead log", e);
+        }
+    }
+
+    @Override
+    public boolean isDurable() {
+        return true;
+    }
+
+    @Override
+    public boolean isSnapshotDue() {
+        return mutationsSinceSnapshot.get() >= snapshotEvery;
+    }
+
+    @Override
+    public void snapshot(DataSnapshot snapshot) {
+        long lsn;
+        try {
+            lsn = wal.rollover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to roll over the write-ahead log", e);
+        }
+        if (lsn == lastSnapshotLsn) {
+            // Nothing was logged since the last snapshot
+            return;
+        }
+        lastSnapshotLsn = lsn;
+        mutationsSinceSnapshot.set(0);
+        snapshotWriter.execute(() -> {
+            try {
+                long started = System.nanoTime();
+                SnapshotFile.write(directory.resolve(SNAPSHOT_FILE), snapshot, lsn);
+                wal.deleteSegmentsUpTo(lsn);
+                log.info("Wrote snapshot at LSN {} in {} ms", lsn,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            } catch (IOException | RuntimeException e) {
+                // The log segments are only deleted after a successful write, so nothing is lost
+                log.error("Failed to write snapshot at LSN {}", lsn, e);
+            }
+        });
+    }
+
+    /**
+     * Waits for pending snapshot writes, then closes the log.
+     */
+    @Override
+    public void close() {
+        snapshotWriter.shutdown();
+        try {
+            if (!snapshotWriter.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.warn("Snapshot write still running at shutdown; the log will be replayed on restart");
+            }
+            wal.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
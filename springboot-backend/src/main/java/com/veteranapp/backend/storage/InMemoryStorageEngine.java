@@ -0,0 +1,37 @@
+package com.veteranapp.backend.storage;
+
+import java.util.Optional;
+
+/**
+ * Keeps nothing: data lives only in memory and starts over from the built-in sample data
+ * on every restart. This is the default engine.
+ */
+public class InMemoryStorageEngine implements StorageEngine {
+
+    @Override
+    public Optional<RecoveredState> recover() {
+        return Optional.empty();
+    }
+
+    @Override
+    public void append(Mutation mutation) {
+    }
+
+    @Override
+    public boolean isDurable() {
+        return false;
+    }
+
+    @Override
+    public boolean isSnapshotDue() {
+        return false;
+    }
+
+    @Override
+    public void snapshot(DataSnapshot snapshot) {
+    }
+
+    @Override
+    public void close() {
+    }
+}
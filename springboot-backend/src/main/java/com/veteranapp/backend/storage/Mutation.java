@@ -0,0 +1,96 @@
+package com.veteranapp.backend.storage;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.veteranapp.backend.model.Member;
+import com.veteranapp.backend.model.Organization;
+import com.veteranapp.backend.model.SoccerMatch;
+import com.veteranapp.backend.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A change to the data held by {@code DataService}, as recorded in the write-ahead log.
+ * Replaying the mutations logged after a snapshot, in order, on top of that snapshot
+ * reproduces the state at the time of the last write.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = Mutation.OrganizationsAdded.class, name = "organizations-added"),
+        @JsonSubTypes.Type(value = Mutation.UsersAdded.class, name = "users-added"),
+        @JsonSubTypes.Type(value = Mutation.UserPasswordChanged.class, name = "user-password-changed"),
+        @JsonSubTypes.Type(value = Mutation.MembersAdded.class, name = "members-added"),
+        @JsonSubTypes.Type(value = Mutation.MemberPayments.class, name = "member-payments"),
+        @JsonSubTypes.Type(value = Mutation.SoccerMatchUpdated.class, name = "soccer-match-updated"),
+        @JsonSubTypes.Type(value = Mutation.SoccerMatchFinished.class, name = "soccer-match-finished")
+})
+public abstract class Mutation {
+
+    @Data
+    @EqualsAndHashCode(callSuper = false)
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OrganizationsAdded extends Mutation {
+        private List<Organization> organizations;
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = false)
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UsersAdded extends Mutation {
+        private List<User> users;
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = false)
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UserPasswordChanged extends Mutation {
+        private String userId;
+        // The new BCrypt hash
+        private String password;
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = false)
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MembersAdded extends Mutation {
+        private List<Member> members;
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = false)
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MemberPayments extends Mutation {
+        private String organizationId;
+        // Payment status by member id
+        private Map<String, Boolean> payments;
+    }
+
+    /**
+     * The live match after a goal, assist or card; logged whole since it is small.
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = false)
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SoccerMatchUpdated extends Mutation {
+        private SoccerMatch match;
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = false)
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SoccerMatchFinished extends Mutation {
+        private SoccerMatch match;
+    }
+}
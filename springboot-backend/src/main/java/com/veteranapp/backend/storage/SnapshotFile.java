@@ -0,0 +1,326 @@
+package com.veteranapp.backend.storage;
+
+import com.veteranapp.backend.model.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+
+/**
+ * On-disk snapshot format. The file is a sequence of independently encoded binary chunks,
+ * one per entity kind and organization, followed by a directory of the chunks and a footer:
+ *
+ * <pre>
+ * [int magic] chunk* [directory] [long directoryOffset] [int magic]
+ * chunk: [varint count + 1] entity*, encoded by {@link EntityCodecs}
+ * directory: [long lsn] [int count] ([utf kind] [utf organizationId] [long offset] [int length] [int entities] [int crc32])*
+ * </pre>
+ *
+ * Writing streams one chunk at a time, so memory stays bounded by the largest organization.
+ * Reading maps the file into memory and wraps each organization's chunks in an
+ * {@link EncodedList}, which decodes on first access; only the small global chunks are
+ * decoded up front. A mapping stays valid after the file is replaced by the next snapshot,
+ * since the replaced file is only unlinked.
+ */
+final class SnapshotFile {
+
+    private static final int MAGIC = 0x56415332; // "VAS2"
+    private static final int FOOTER_BYTES = Long.BYTES + Integer.BYTES;
+    // Chunks are mapped in regions of at most this size, each a whole number of chunks
+    private static final long MAX_REGION_BYTES = 1L << 30;
+
+    static final String ORGANIZATIONS = "organizations";
+    static final String USERS = "users";
+    static final String CURRENT_MATCH = "current-match-state";
+    // Written by earlier versions, without the finished flag; still read
+    static final String LEGACY_CURRENT_MATCH = "current-match";
+    static final String MATCH_HISTORY = "match-history";
+    static final String OFFICIALS = "officials";
+    static final String NEWS = "news";
+    static final String MEMBERS = "members";
+    static final String MEETINGS = "meetings";
+    static final String CONSTITUTION = "constitution";
+
+    private static final Map<String, EntityCodecs.EntityCodec<?>> CODECS = Map.of(
+            ORGANIZATIONS, EntityCodecs.ORGANIZATION,
+            USERS, EntityCodecs.USER,
+            CURRENT_MATCH, EntityCodecs.CURRENT_SOCCER_MATCH,
+            LEGACY_CURRENT_MATCH, EntityCodecs.SOCCER_MATCH,
+            MATCH_HISTORY, EntityCodecs.FINISHED_SOCCER_MATCH,
+            OFFICIALS, EntityCodecs.OFFICIAL,
+            NEWS, EntityCodecs.NEWS,
+            MEMBERS, EntityCodecs.MEMBER,
+            MEETINGS, EntityCodecs.MEETING,
+            CONSTITUTION, EntityCodecs.CONSTITUTION);
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Writes the snapshot to a temporary file and atomically moves it over {@code path}
+     * once it is fully on disk, so a crash never leaves a partial snapshot behind. Lists
+     * mapped from the previous snapshot are copied over without being decoded.
+     */
+    static void write(Path path, DataSnapshot snapshot, long lsn) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            ChunkWriter writer = new ChunkWriter(out);
+            out.writeInt(MAGIC);
+            writer.offset = Integer.BYTES;
+            writer.write(ORGANIZATIONS, "", snapshot.getOrganizations());
+            writer.write(USERS, "", snapshot.getUsers());
+            if (snapshot.getCurrentSoccerMatch() != null) {
+                writer.write(CURRENT_MATCH, "", Collections.singletonList(snapshot.getCurrentSoccerMatch()));
+            }
+            writer.write(MATCH_HISTORY, "", snapshot.getMatchHistory());
+            writer.writeAll(OFFICIALS, snapshot.getOfficials());
+            writer.writeAll(NEWS, snapshot.getNews());
+            writer.writeAll(MEMBERS, snapshot.getMembers());
+            writer.writeAll(MEETINGS, snapshot.getMeetings());
+            writer.writeAll(CONSTITUTION, snapshot.getConstitutions());
+
+            long directoryOffset = writer.offset;
+            out.writeLong(lsn);
+            out.writeInt(writer.chunks.size());
+            for (Chunk chunk : writer.chunks) {
+                out.writeUTF(chunk.kind);
+                out.writeUTF(chunk.organizationId);
+                out.writeLong(chunk.offset);
+                out.writeInt(chunk.length);
+                out.writeInt(chunk.entities);
+                out.writeInt(chunk.checksum);
+            }
+            out.writeLong(directoryOffset);
+            out.writeInt(MAGIC);
+            out.flush();
+            file.getChannel().force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps a snapshot into memory. Organization-scoped lists are left encoded unless
+     * {@code pool} is given, in which case they are all decoded on it in parallel.
+     */
+    static Contents read(Path path, ForkJoinPool pool) throws IOException {
+        Directory directory;
+        List<EncodedList<?>> lists = new ArrayList<>();
+        Map<String, Map<String, List<?>>> byKind = new HashMap<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            directory = readDirectory(channel);
+            List<Chunk> chunks = directory.chunks;
+            int first = 0;
+            while (first < chunks.size()) {
+                // Greedily extend the region while it stays under the limit
+                long start = chunks.get(first).offset;
+                int last = first;
+                while (last + 1 < chunks.size()
+                        && chunks.get(last + 1).offset + chunks.get(last + 1).length - start <= MAX_REGION_BYTES) {
+                    last++;
+                }
+                long end = chunks.get(last).offset + chunks.get(last).length;
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                for (int i = first; i <= last; i++) {
+                    Chunk chunk = chunks.get(i);
+                    ByteBuffer slice = region.slice((int) (chunk.offset - start), chunk.length).asReadOnlyBuffer();
+                    EncodedList<?> list = new EncodedList<>(slice, chunk.checksum, chunk.entities, codecOf(chunk.kind),
+                            chunk.kind + " of '" + chunk.organizationId + "'");
+                    lists.add(list);
+                    byKind.computeIfAbsent(chunk.kind, k -> new HashMap<>()).put(chunk.organizationId, list);
+                }
+                first = last + 1;
+            }
+        }
+        // The mappings stay valid after the channel is closed
+
+        if (pool != null) {
+            try {
+                pool.submit(() -> lists.parallelStream().forEach(EncodedList::decoded)).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while reading snapshot");
+            } catch (ExecutionException e) {
+                throw new IOException("Failed to decode snapshot " + path, e.getCause());
+            }
+        }
+
+        try {
+            List<SoccerMatch> currentMatch = global(byKind, CURRENT_MATCH);
+            if (currentMatch.isEmpty()) {
+                currentMatch = global(byKind, LEGACY_CURRENT_MATCH);
+            }
+            DataSnapshot snapshot = new DataSnapshot(
+                    global(byKind, ORGANIZATIONS),
+                    global(byKind, USERS),
+                    byOrganization(byKind, OFFICIALS),
+                    byOrganization(byKind, NEWS),
+                    byOrganization(byKind, MEMBERS),
+                    byOrganization(byKind, MEETINGS),
+                    byOrganization(byKind, CONSTITUTION),
+                    currentMatch.isEmpty() ? null : currentMatch.get(0),
+                    global(byKind, MATCH_HISTORY));
+            return new Contents(directory.lsn, snapshot);
+        } catch (IllegalStateException e) {
+            throw new IOException("Failed to decode snapshot " + path, e);
+        }
+    }
+
+    private static Directory readDirectory(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < Integer.BYTES + FOOTER_BYTES) {
+            throw new IOException("Snapshot is truncated");
+        }
+        ByteBuffer footer = readFully(channel, size - FOOTER_BYTES, FOOTER_BYTES);
+        long directoryOffset = footer.getLong();
+        if (footer.getInt() != MAGIC || directoryOffset < Integer.BYTES || directoryOffset > size - FOOTER_BYTES) {
+            throw new IOException("Not a snapshot file, snapshot of an older format, or snapshot is corrupt");
+        }
+        ByteBuffer buffer = readFully(channel, directoryOffset, (int) (size - FOOTER_BYTES - directoryOffset));
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.array()));
+        long lsn = in.readLong();
+        int count = in.readInt();
+        List<Chunk> chunks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Chunk chunk = new Chunk(in.readUTF(), in.readUTF(), in.readLong(), in.readInt(), in.readInt(), in.readInt());
+            if (chunk.offset < Integer.BYTES || chunk.offset + chunk.length > directoryOffset) {
+                throw new IOException("Snapshot directory is corrupt");
+            }
+            codecOf(chunk.kind);
+            chunks.add(chunk);
+        }
+        chunks.sort(Comparator.comparingLong(chunk -> chunk.offset));
+        return new Directory(lsn, chunks);
+    }
+
+    private static EntityCodecs.EntityCodec<?> codecOf(String kind) throws IOException {
+        EntityCodecs.EntityCodec<?> codec = CODECS.get(kind);
+        if (codec == null) {
+            throw new IOException("Unknown snapshot chunk kind " + kind);
+        }
+        return codec;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Snapshot is truncated");
+            }
+        }
+        return buffer.flip();
+    }
+
+    // Global chunks are small and needed right away, so they are decoded eagerly
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> global(Map<String, Map<String, List<?>>> byKind, String kind) {
+        Map<String, List<?>> chunks = byKind.get(kind);
+        List<?> list = chunks == null ? null : chunks.get("");
+        return list == null ? new ArrayList<>() : new ArrayList<>((List<T>) list);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Map<String, List<T>> byOrganization(Map<String, Map<String, List<?>>> byKind, String kind) {
+        Map<String, List<?>> chunks = byKind.get(kind);
+        Map<String, List<T>> lists = new HashMap<>();
+        if (chunks != null) {
+            chunks.forEach((organizationId, list) -> lists.put(organizationId, (List<T>) list));
+        }
+        return lists;
+    }
+
+    private static int checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * A mapped snapshot and the LSN of the last mutation it includes.
+     */
+    static final class Contents {
+        final long lsn;
+        final DataSnapshot snapshot;
+
+        Contents(long lsn, DataSnapshot snapshot) {
+            this.lsn = lsn;
+            this.snapshot = snapshot;
+        }
+    }
+
+    private static final class Directory {
+        final long lsn;
+        final List<Chunk> chunks;
+
+        Directory(long lsn, List<Chunk> chunks) {
+            this.lsn = lsn;
+            this.chunks = chunks;
+        }
+    }
+
+    private static final class Chunk {
+        final String kind;
+        final String organizationId;
+        final long offset;
+        final int length;
+        final int entities;
+        final int checksum;
+
+        Chunk(String kind, String organizationId, long offset, int length, int entities, int checksum) {
+            this.kind = kind;
+            this.organizationId = organizationId;
+            this.offset = offset;
+            this.length = length;
+            this.entities = entities;
+            this.checksum = checksum;
+        }
+    }
+
+    private static final class ChunkWriter {
+        private final DataOutputStream out;
+        private final List<Chunk> chunks = new ArrayList<>();
+        private long offset;
+
+        private ChunkWriter(DataOutputStream out) {
+            this.out = out;
+        }
+
+        private void writeAll(String kind, Map<String, ? extends List<?>> byOrganization) throws IOException {
+            for (Map.Entry<String, ? extends List<?>> entry : byOrganization.entrySet()) {
+                write(kind, entry.getKey(), entry.getValue());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> void write(String kind, String organizationId, List<T> values) throws IOException {
+            if (values == null) {
+                return;
+            }
+            byte[] bytes;
+            int checksum;
+            if (values instanceof EncodedList<?> encoded) {
+                // Encoded lists are immutable, so their bytes are still current
+                bytes = encoded.encodedBytes();
+                checksum = encoded.checksum();
+            } else {
+                BinaryOutput encoder = new BinaryOutput();
+                EntityCodecs.EntityCodec<T> codec = (EntityCodecs.EntityCodec<T>) codecOf(kind);
+                encoder.writeList(values, codec::write);
+                bytes = encoder.toByteArray();
+                checksum = checksum(bytes);
+            }
+            out.write(bytes);
+            chunks.add(new Chunk(kind, organizationId, offset, bytes.length, values.size(), checksum));
+            offset += bytes.length;
+        }
+    }
+}
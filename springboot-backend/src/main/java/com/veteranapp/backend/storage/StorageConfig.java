@@ -0,0 +1,35 @@
+package com.veteranapp.backend.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Selects the {@link StorageEngine} with {@code storage.engine}: {@code memory} (default)
+ * keeps data only in memory, {@code file} persists it under {@code storage.dir}.
+ */
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "storage.engine", havingValue = "memory", matchIfMissing = true)
+    public StorageEngine inMemoryStorageEngine() {
+        return new InMemoryStorageEngine();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "storage.engine", havingValue = "file")
+    public StorageEngine fileStorageEngine(ObjectMapper objectMapper,
+                                           @Value("${storage.dir:data}") String directory,
+                                           @Value("${storage.wal.fsync:true}") boolean fsync,
+                                           @Value("${storage.snapshot.every:10000}") int snapshotEvery,
+                                           @Value("${storage.recovery.threads:0}") int recoveryThreads,
+                                           @Value("${storage.snapshot.lazy:true}") boolean lazySnapshot) {
+        return new FileStorageEngine(Path.of(directory), objectMapper, fsync, snapshotEvery, recoveryThreads,
+                lazySnapshot);
+    }
+}
@@ -0,0 +1,62 @@
+package com.veteranapp.backend.storage;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persistence behind {@code DataService}. The service keeps all data in memory and
+ * reports every change to the engine; on startup it asks the engine for the last
+ * durable state and rebuilds its indexes from it.
+ *
+ * {@link #append} may be called concurrently; callers order the appends whose relative
+ * order matters for replay, such as writes to the same organization. No append may run
+ * concurrently with {@link #snapshot}, so a snapshot reflects exactly the mutations
+ * appended before it.
+ */
+public interface StorageEngine extends AutoCloseable {
+
+    /**
+     * Loads the latest snapshot and the mutations logged after it. Must be called once,
+     * before the first {@link #append}.
+     *
+     * @return the stored state, or empty if nothing has been stored yet
+     */
+    Optional<RecoveredState> recover();
+
+    /**
+     * Logs the mutation, returning once it is durable. Concurrent appends may share one
+     * flush to disk.
+     */
+    void append(Mutation mutation);
+
+    /**
+     * @return whether appended mutations outlive the process; if not, callers may skip the
+     *         coordination that appends and snapshots need
+     */
+    boolean isDurable();
+
+    /**
+     * @return whether enough mutations were logged since the last snapshot to take a new one
+     */
+    boolean isSnapshotDue();
+
+    /**
+     * Persists the snapshot, after which the mutations logged before it are no longer
+     * needed for recovery. Engines may write the snapshot in the background.
+     */
+    void snapshot(DataSnapshot snapshot);
+
+    @Override
+    void close();
+
+    /**
+     * State found on startup: the latest snapshot, if any, and the mutations to replay on top of it.
+     */
+    @Value
+    class RecoveredState {
+        DataSnapshot snapshot;
+        List<Mutation> mutations;
+    }
+}
@@ -0,0 +1,247 @@
+package com.veteranapp.backend.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of opaque records, split into segment files named after the sequence
+ * number (LSN) of their first record. Each record is framed as
+ * {@code [int length][int crc32][long lsn][payload]}, the checksum covering LSN and payload,
+ * so a record torn by a crash is detected and dropped on recovery.
+ *
+ * Appends are serialized by a short lock around the write itself; the flush to disk is done
+ * by {@link #sync} outside it. Concurrent callers waiting in {@code sync} share flushes: one
+ * forces the file for every record written so far while the others wait for it (group
+ * commit). {@link #recover}, {@link #rollover} and {@link #close} must not run concurrently
+ * with appends.
+ */
+final class WriteAheadLog implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_BYTES = 16;
+
+    private final Path directory;
+    private final boolean fsync;
+
+    private final Object appendLock = new Object();
+    private FileChannel segment;
+    private long segmentStart;
+    private long lastLsn;
+
+    private final Object syncLock = new Object();
+    // Guarded by syncLock: highest LSN known to be on disk, and whether a flush is running
+    private long durableLsn;
+    private boolean syncing;
+
+    WriteAheadLog(Path directory, boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Reads all intact records after {@code afterLsn} and opens a new segment for appends.
+     * A torn or corrupt record ends its segment, which is truncated to the last intact record.
+     */
+    List<Record> recover(long afterLsn) throws IOException {
+        List<Record> records = new ArrayList<>();
+        lastLsn = afterLsn;
+        for (Path path : segments()) {
+            long size = Files.size(path);
+            long validLength = 0;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+                while (true) {
+                    Record record = readRecord(in, size - validLength - HEADER_BYTES);
+                    if (record == null) {
+                        break;
+                    }
+                    validLength += HEADER_BYTES + record.payload.length;
+                    lastLsn = Math.max(lastLsn, record.lsn);
+                    if (record.lsn > afterLsn) {
+                        records.add(record);
+                    }
+                }
+            }
+            if (validLength < size) {
+                log.warn("Truncating {} after {} bytes: torn or corrupt record", path.getFileName(), validLength);
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                    channel.truncate(validLength);
+                }
+            }
+        }
+        openSegment();
+        synchronized (syncLock) {
+            durableLsn = lastLsn;
+        }
+        return records;
+    }
+
+    /**
+     * Writes the record without forcing it to disk; see {@link #sync}.
+     *
+     * @return the LSN assigned to the record
+     */
+    long append(byte[] payload) throws IOException {
+        synchronized (appendLock) {
+            long lsn = lastLsn + 1;
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+            buffer.putInt(payload.length).putInt(checksum(lsn, payload)).putLong(lsn).put(payload).flip();
+            while (buffer.hasRemaining()) {
+                segment.write(buffer);
+            }
+            lastLsn = lsn;
+            return lsn;
+        }
+    }
+
+    /**
+     * Returns once the record with the given LSN is on disk, or at once if the log is not
+     * fsynced. The caller that finds no flush running forces everything written so far;
+     * callers arriving meanwhile wait and are usually covered by the next flush.
+     */
+    void sync(long lsn) throws IOException {
+        if (!fsync) {
+            return;
+        }
+        synchronized (syncLock) {
+            while (durableLsn < lsn && syncing) {
+                try {
+                    syncLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted waiting for the log to be flushed");
+                }
+            }
+            if (durableLsn >= lsn) {
+                return;
+            }
+            syncing = true;
+        }
+        long flushed = lsn;
+        try {
+            FileChannel channel;
+            synchronized (appendLock) {
+                flushed = lastLsn;
+                channel = segment;
+            }
+            channel.force(false);
+        } catch (IOException | RuntimeException e) {
+            flushed = -1;
+            throw e;
+        } finally {
+            synchronized (syncLock) {
+                syncing = false;
+                if (flushed > durableLsn) {
+                    durableLsn = flushed;
+                }
+                syncLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Closes the current segment and starts a new one, so everything up to the returned
+     * LSN can later be dropped with {@link #deleteSegmentsUpTo}.
+     *
+     * @return the LSN of the last record in the closed segment
+     */
+    long rollover() throws IOException {
+        if (segmentStart <= lastLsn) {
+            segment.close();
+            openSegment();
+        }
+        return lastLsn;
+    }
+
+    /**
+     * Deletes the segments holding only records up to {@code lsn}. Safe to call while appending,
+     * since the segment being appended to always starts after the last rollover LSN.
+     */
+    void deleteSegmentsUpTo(long lsn) throws IOException {
+        for (Path path : segments()) {
+            long start = startOf(path);
+            if (start <= lsn) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (segment != null) {
+            segment.close();
+        }
+    }
+
+    private void openSegment() throws IOException {
+        segmentStart = lastLsn + 1;
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segmentStart, SEGMENT_SUFFIX));
+        segment = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            // Zero-padded start LSNs make name order the log order
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long startOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    // Returns null at the end of the segment or at the first torn or corrupt record
+    private static Record readRecord(DataInputStream in, long maxLength) throws IOException {
+        try {
+            int length = in.readInt();
+            int checksum = in.readInt();
+            long lsn = in.readLong();
+            // A garbage length must not trigger a huge allocation
+            if (length < 0 || length > maxLength) {
+                return null;
+            }
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            return checksum(lsn, payload) == checksum ? new Record(lsn, payload) : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private static int checksum(long lsn, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(Long.BYTES).putLong(0, lsn));
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    static final class Record {
+        final long lsn;
+        final byte[] payload;
+
+        Record(long lsn, byte[] payload) {
+            this.lsn = lsn;
+            this.payload = payload;
+        }
+    }
+}
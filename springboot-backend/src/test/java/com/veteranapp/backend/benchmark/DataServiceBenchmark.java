@@ -0,0 +1,88 @@
+package com.veteranapp.backend.benchmark;
+
+import com.veteranapp.backend.model.HostingSchedule;
+import com.veteranapp.backend.model.Member;
+import com.veteranapp.backend.model.Organization;
+import com.veteranapp.backend.model.User;
+import com.veteranapp.backend.service.DataService;
+import com.veteranapp.backend.service.OrganizationIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DataService} read paths against {@link SyntheticData}'s 10k organizations and
+ * 1M members. Each lookup runs against the largest organization and a median-sized one,
+ * selected with {@code -p organization=large|typical}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class DataServiceBenchmark {
+
+    @Param({"large", "typical"})
+    private String organization;
+
+    private DataService dataService;
+    private String organizationId;
+    private String memberId;
+    private String username;
+    private List<String> userOrganizationIds;
+    private long midSequence;
+    private boolean paid;
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData();
+        dataService = data.populate();
+        organizationId = "large".equals(organization) ? SyntheticData.organizationId(0) : data.typicalOrganizationId();
+        List<Member> orgMembers = dataService.getMembersByOrganization(organizationId);
+        memberId = orgMembers.get(orgMembers.size() / 2).getId();
+        midSequence = dataService.getMembersPage(organizationId, 0, orgMembers.size() / 2).getLastSequence();
+        username = SyntheticData.username(SyntheticData.USERS / 2);
+        userOrganizationIds = dataService.findUserByUsername(username).orElseThrow().getOrganizationIds();
+    }
+
+    @Benchmark
+    public Optional<User> findUserByUsername() {
+        return dataService.findUserByUsername(username);
+    }
+
+    @Benchmark
+    public List<Organization> getOrganizationsByIds() {
+        return dataService.getOrganizationsByIds(userOrganizationIds);
+    }
+
+    @Benchmark
+    public List<Member> getMembersByOrganization() {
+        return dataService.getMembersByOrganization(organizationId);
+    }
+
+    @Benchmark
+    public Optional<Member> getMemberById() {
+        return dataService.getMemberById(memberId, organizationId);
+    }
+
+    @Benchmark
+    public OrganizationIndex.Page<Member> getMembersPage() {
+        return dataService.getMembersPage(organizationId, midSequence, 50);
+    }
+
+    @Benchmark
+    public HostingSchedule hostingScheduleCached() {
+        return dataService.getCurrentHostingSchedule(organizationId);
+    }
+
+    // A payment write invalidates the cached schedule, so each call pays for generateHostingSchedule
+    @Benchmark
+    public HostingSchedule hostingScheduleRebuild() {
+        paid = !paid;
+        dataService.updateMemberPayment(memberId, organizationId, paid);
+        return dataService.getCurrentHostingSchedule(organizationId);
+    }
+}
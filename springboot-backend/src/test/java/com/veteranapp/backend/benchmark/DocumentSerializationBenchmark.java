@@ -0,0 +1,73 @@
+package com.veteranapp.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veteranapp.backend.model.Constitution;
+import com.veteranapp.backend.model.Meeting;
+import com.veteranapp.backend.model.SoccerMatch;
+import com.veteranapp.backend.service.DataService;
+import com.veteranapp.backend.service.SerializedDocument;
+import com.veteranapp.backend.service.SerializedDocumentCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of serving a constitution or meeting through Jackson versus the
+ * pre-serialized cache, plus plain Jackson serialization of the live soccer match. Run with {@code -Dbenchmark="DocumentSerialization -prof gc"}
+ * to report allocations per operation alongside latency.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DocumentSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private DataService dataService;
+    private SerializedDocumentCache documentCache;
+    private Constitution constitution;
+    private Meeting meeting;
+    private SoccerMatch soccerMatch;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        dataService = new DataService();
+        documentCache = new SerializedDocumentCache(objectMapper, 1000, true);
+        constitution = dataService.getConstitutionByOrganization("org1").orElseThrow();
+        meeting = dataService.getMeetingById("1", "org1").orElseThrow();
+        soccerMatch = dataService.getCurrentSoccerMatch();
+    }
+
+    @Benchmark
+    public byte[] constitutionJackson() throws Exception {
+        return objectMapper.writeValueAsBytes(constitution);
+    }
+
+    @Benchmark
+    public byte[] constitutionCached() {
+        SerializedDocument document = documentCache.get("constitution", "org1", "",
+                dataService.getOrganizationVersion("org1"), () -> constitution);
+        return document.getJson();
+    }
+
+    @Benchmark
+    public byte[] meetingJackson() throws Exception {
+        return objectMapper.writeValueAsBytes(meeting);
+    }
+
+    @Benchmark
+    public byte[] meetingCached() {
+        SerializedDocument document = documentCache.get("meeting", "org1", "1",
+                dataService.getOrganizationVersion("org1"), () -> meeting);
+        return document.getJson();
+    }
+
+    @Benchmark
+    public byte[] soccerMatchJackson() throws Exception {
+        return objectMapper.writeValueAsBytes(soccerMatch);
+    }
+}
@@ -0,0 +1,68 @@
+package com.veteranapp.backend.benchmark;
+
+import com.veteranapp.backend.model.Member;
+import com.veteranapp.backend.service.StringDictionary;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retained heap of {@link SyntheticData}'s 1M members, reported as the
+ * {@code retainedMegabytes} counter next to the load time. Members holding their own copy
+ * of each status, role, service and location ({@code -p strings=distinct}) are compared
+ * with members sharing {@link StringDictionary} instances, as {@code DataService} stores them.
+ * The footprint is the same on every run, so a single measured iteration is enough.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class HeapFootprintBenchmark {
+
+    @Param({"distinct", "dictionary"})
+    private String strings;
+
+    // Keeps the measured data reachable until the next iteration
+    private Object retained;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long retainedMegabytes;
+    }
+
+    @Setup(Level.Iteration)
+    public void release() {
+        retained = null;
+    }
+
+    @Benchmark
+    public void memberList(Footprint footprint) {
+        long before = usedHeapAfterGc();
+        List<Member> members = new SyntheticData().members();
+        if ("dictionary".equals(strings)) {
+            StringDictionary dictionary = new StringDictionary(10_000);
+            for (Member member : members) {
+                member.setLocation(dictionary.intern(member.getLocation()));
+                member.setStatus(dictionary.intern(member.getStatus()));
+                member.setRole(dictionary.intern(member.getRole()));
+                member.setService(dictionary.intern(member.getService()));
+            }
+        }
+        retained = members;
+        footprint.retainedMegabytes = (usedHeapAfterGc() - before) >> 20;
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
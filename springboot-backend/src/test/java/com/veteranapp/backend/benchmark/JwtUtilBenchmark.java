@@ -0,0 +1,98 @@
+package com.veteranapp.backend.benchmark;
+
+import com.veteranapp.backend.security.JwtUtil;
+import com.veteranapp.backend.security.TokenClaims;
+import com.veteranapp.backend.security.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares token validation with the cached key and parser against the previous
+ * implementation, which rebuilt both on every call and parsed the token once per claim.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    static final String SECRET = "your-secret-key-change-in-production-make-it-long-and-secure";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = newJwtUtil();
+        token = jwtUtil.generateAccessToken("admin", "1");
+    }
+
+    static JwtUtil newJwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "accessTokenExpiry", 900000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshTokenExpiry", 604800000L);
+        // A zero-sized cache keeps these benchmarks measuring actual verification
+        ReflectionTestUtils.setField(jwtUtil, "tokenCache", new VerifiedTokenCache(0));
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    @Benchmark
+    public TokenClaims parseToken() {
+        return jwtUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, "admin");
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtUtil.generateAccessToken("admin", "1");
+    }
+
+    @Benchmark
+    public TokenClaims parseTokenCached(CachedState state) {
+        return state.jwtUtil.parseToken(state.token);
+    }
+
+    @Benchmark
+    public Boolean legacyValidateToken() {
+        String username = legacyClaims(token).getSubject();
+        Date expiration = legacyClaims(token).getExpiration();
+        return username.equals("admin") && !expiration.before(new Date());
+    }
+
+    @State(Scope.Benchmark)
+    public static class CachedState {
+        private JwtUtil jwtUtil;
+        private String token;
+
+        @Setup
+        public void setUp() {
+            jwtUtil = newJwtUtil();
+            ReflectionTestUtils.setField(jwtUtil, "tokenCache", new VerifiedTokenCache(10000));
+            token = jwtUtil.generateAccessToken("admin", "1");
+        }
+    }
+
+    // Mirrors the former JwtUtil.extractAllClaims: new key and parser per claim lookup
+    private static Claims legacyClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,97 @@
+package com.veteranapp.backend.benchmark;
+
+import com.veteranapp.backend.dto.SearchHit;
+import com.veteranapp.backend.model.Constitution;
+import com.veteranapp.backend.model.Meeting;
+import com.veteranapp.backend.model.News;
+import com.veteranapp.backend.service.SearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SearchIndex} queries against a large organization: 5k news items, 5k meetings
+ * with about 120 words of minutes each, and a 200-section constitution. {@code update}
+ * measures re-indexing after one meeting is replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    private static final String[] WORDS = ("budget dues membership treasurer secretary president parade gala "
+            + "scholarship veterans honor guard flag ceremony memorial fundraising raffle volunteers hospital "
+            + "visit youth program bylaws amendment quorum vote motion seconded approved tabled report audit "
+            + "insurance building lease kitchen repairs donation grant newsletter website election nominations "
+            + "officers committee chair delegate convention district state national auxiliary post commander "
+            + "chaplain adjutant finance officer service officer benefits claims county clinic transport").split(" ");
+
+    @Param({"membership dues", "quorum vote approved amendment", "commander"})
+    private String query;
+
+    private SearchIndex index;
+    private Constitution constitution;
+    private List<News> news;
+    private List<Meeting> meetings;
+    private int replaced;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        news = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            news.add(new News("org", sentence(random, 5), sentence(random, 30), "Mar 15, 2026", "Event", null));
+        }
+        meetings = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            meetings.add(meeting(random, i));
+        }
+        List<Constitution.Article> articles = new ArrayList<>();
+        for (int a = 0; a < 20; a++) {
+            List<Constitution.Section> sections = new ArrayList<>();
+            for (int s = 0; s < 10; s++) {
+                sections.add(new Constitution.Section(a + "." + s, sentence(random, 40)));
+            }
+            articles.add(new Constitution.Article("Article " + a + ": " + sentence(random, 3), sections));
+        }
+        constitution = new Constitution("org", "Post", articles, "Jan 15, 2020", "Dec 10, 2025");
+        index = new SearchIndex();
+        index.update(constitution, news, meetings);
+    }
+
+    @Benchmark
+    public List<SearchHit> search() {
+        return index.search(query, 10);
+    }
+
+    @Benchmark
+    public void update() {
+        List<Meeting> changed = new ArrayList<>(meetings);
+        int position = replaced++ % changed.size();
+        changed.set(position, meeting(new Random(position), position));
+        meetings = changed;
+        index.update(constitution, news, meetings);
+    }
+
+    private static Meeting meeting(Random random, int i) {
+        return new Meeting(String.valueOf(i), "org", sentence(random, 4), "Feb 12, 2026", "Hall", 20,
+                sentence(random, 120), List.of(), List.of());
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
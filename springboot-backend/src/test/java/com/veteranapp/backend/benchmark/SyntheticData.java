@@ -0,0 +1,126 @@
+package com.veteranapp.backend.benchmark;
+
+import com.veteranapp.backend.model.Member;
+import com.veteranapp.backend.model.Organization;
+import com.veteranapp.backend.model.User;
+import com.veteranapp.backend.service.DataService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic generator of production-sized data sets for the benchmarks. Organization
+ * sizes are skewed so a few organizations hold most members, as in real deployments:
+ * {@code synth-org-0} is the largest, while {@link #typicalOrganizationId()} sits near the
+ * median. Like values parsed from requests, every generated string is its own instance,
+ * even when the same value repeats across records.
+ */
+final class SyntheticData {
+
+    static final int ORGANIZATIONS = 10_000;
+    static final int MEMBERS = 1_000_000;
+    static final int USERS = 10_000;
+
+    private static final String[] FIRST_NAMES = {"James", "Mary", "Robert", "Patricia", "John", "Jennifer",
+            "Michael", "Linda", "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia",
+            "Miller", "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Wilson", "Anderson", "Thomas"};
+    private static final String[] CITIES = {"New York, NY", "Los Angeles, CA", "Chicago, IL", "Houston, TX",
+            "Phoenix, AZ", "Philadelphia, PA", "San Antonio, TX", "San Diego, CA", "Dallas, TX", "Austin, TX"};
+    private static final String[] SERVICES = {"U.S. Army", "U.S. Navy", "U.S. Air Force", "U.S. Marine Corps",
+            "U.S. Coast Guard"};
+    private static final String[] ROLES = {"Member", "Member", "Member", "Member", "Treasurer", "Secretary"};
+
+    private final int organizationCount;
+    private final int memberCount;
+    private final int userCount;
+    private final Random random = new Random(42);
+
+    SyntheticData() {
+        this(ORGANIZATIONS, MEMBERS, USERS);
+    }
+
+    SyntheticData(int organizationCount, int memberCount, int userCount) {
+        this.organizationCount = organizationCount;
+        this.memberCount = memberCount;
+        this.userCount = userCount;
+    }
+
+    /** Returns a {@link DataService} holding the sample data plus the generated data set. */
+    DataService populate() {
+        DataService dataService = new DataService();
+        dataService.addOrganizations(organizations());
+        dataService.addUsers(users());
+        dataService.addMembers(members());
+        return dataService;
+    }
+
+    static String organizationId(int index) {
+        return "synth-org-" + index;
+    }
+
+    static String memberId(int index) {
+        return "synth-member-" + index;
+    }
+
+    static String username(int index) {
+        return "synth-user-" + index;
+    }
+
+    String typicalOrganizationId() {
+        return organizationId(organizationCount / 2);
+    }
+
+    List<Organization> organizations() {
+        List<Organization> organizations = new ArrayList<>(organizationCount);
+        for (int i = 0; i < organizationCount; i++) {
+            organizations.add(new Organization(organizationId(i), "Veterans Post " + i, pick(CITIES)));
+        }
+        return organizations;
+    }
+
+    List<User> users() {
+        List<User> users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            // Most users belong to one organization, some to a handful
+            int memberships = 1 + (random.nextInt(10) == 0 ? random.nextInt(5) : 0);
+            String[] organizationIds = new String[memberships];
+            for (int m = 0; m < memberships; m++) {
+                organizationIds[m] = organizationId(skewedOrganization());
+            }
+            users.add(new User("synth-" + i, username(i), username(i) + "@example.com", "password123",
+                    pick(FIRST_NAMES) + " " + pick(LAST_NAMES), Arrays.asList(organizationIds)));
+        }
+        return users;
+    }
+
+    List<Member> members() {
+        List<Member> members = new ArrayList<>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            // Every organization gets at least one member, the rest follow the skew
+            int organization = i < organizationCount ? i : skewedOrganization();
+            members.add(new Member(memberId(i), organizationId(organization),
+                    pick(FIRST_NAMES) + " " + pick(LAST_NAMES), pick(CITIES),
+                    random.nextInt(4) != 0, copy(random.nextInt(10) != 0 ? "active" : "inactive"),
+                    pick(ROLES), pick(SERVICES)));
+        }
+        return members;
+    }
+
+    // Squaring a uniform value concentrates members in the low organization indexes
+    private int skewedOrganization() {
+        double u = random.nextDouble();
+        return (int) (u * u * organizationCount);
+    }
+
+    private String pick(String[] values) {
+        return copy(values[random.nextInt(values.length)]);
+    }
+
+    // new String(String) would share the original's byte array; parsed strings have their own
+    private static String copy(String value) {
+        return new String(value.toCharArray());
+    }
+}
@@ -0,0 +1,69 @@
+package com.veteranapp.backend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the per-item results of /hosting/mark-payments and the batches it rejects.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "hosting.mark-payments.max-batch-size=4")
+class BulkPaymentTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reportsFoundMissingAndInvalidItems() {
+        Map<String, Object> invalid = new HashMap<>();
+        invalid.put("memberId", "3");
+        invalid.put("isPaid", null);
+        ResponseEntity<Map> response = markPayments(List.of(
+                Map.of("memberId", "1", "isPaid", true),
+                Map.of("memberId", "no-such-member", "isPaid", true),
+                invalid,
+                Map.of("memberId", "2", "isPaid", false)));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("2 of 4 payment statuses updated", response.getBody().get("message"));
+        List<Map<String, Object>> results = (List<Map<String, Object>>) response.getBody().get("data");
+        assertEquals(List.of("1", "no-such-member", "3", "2"), results.stream().map(r -> r.get("memberId")).toList());
+        assertEquals(List.of(true, false, false, true), results.stream().map(r -> r.get("success")).toList());
+        assertEquals("Member not found", results.get(1).get("message"));
+        assertEquals("Missing required fields", results.get(2).get("message"));
+        assertEquals(false, ((Map<String, Object>) results.get(3).get("member")).get("isPaid"));
+    }
+
+    @Test
+    void rejectsDuplicateMembers() {
+        ResponseEntity<Map> response = markPayments(List.of(
+                Map.of("memberId", "4", "isPaid", true),
+                Map.of("memberId", "5", "isPaid", true),
+                Map.of("memberId", "4", "isPaid", false)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Duplicate memberId: 4", response.getBody().get("message"));
+    }
+
+    @Test
+    void rejectsOversizedBatches() {
+        List<Map<String, Object>> payments = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            payments.add(Map.of("memberId", String.valueOf(i), "isPaid", true));
+        }
+        assertEquals(HttpStatus.BAD_REQUEST, markPayments(payments).getStatusCode());
+    }
+
+    private ResponseEntity<Map> markPayments(List<? extends Map<String, Object>> payments) {
+        return restTemplate.postForEntity("/hosting/mark-payments",
+                Map.of("organizationId", "org1", "payments", payments), Map.class);
+    }
+}
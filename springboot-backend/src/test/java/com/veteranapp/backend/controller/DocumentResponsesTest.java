@@ -0,0 +1,52 @@
+package com.veteranapp.backend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DocumentResponsesTest {
+
+    @Test
+    void honoursGzipQualities() {
+        assertTrue(DocumentResponses.acceptsGzip("gzip, deflate, br"));
+        assertTrue(DocumentResponses.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(DocumentResponses.acceptsGzip("*"));
+        assertFalse(DocumentResponses.acceptsGzip(null));
+        assertFalse(DocumentResponses.acceptsGzip("identity"));
+        assertFalse(DocumentResponses.acceptsGzip("gzip;q=0"));
+        assertFalse(DocumentResponses.acceptsGzip("gzip; q=0.0, *"));
+        assertFalse(DocumentResponses.acceptsGzip("*;q=0"));
+    }
+
+    @Test
+    void revalidatesAgainstEitherEncodingBeforeTheDocumentIsRead() {
+        String eTag = "\"1-org1-7\"";
+        assertTrue(notModified("\"1-org1-7\"", "gzip"));
+        assertTrue(notModified("\"1-org1-7-gzip\"", "gzip"));
+        assertTrue(notModified("\"1-org1-6\", W/\"1-org1-7\"", null));
+        assertFalse(notModified("\"1-org1-7-gzip\"", "identity"));
+        assertFalse(notModified("\"1-org1-6-gzip\"", "gzip"));
+        assertFalse(notModified(null, "gzip"));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/constitution");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1-org1-7-gzip\"");
+        assertTrue(DocumentResponses.checkNotModified(new ServletWebRequest(request, response), eTag, "gzip"));
+        assertEquals(304, response.getStatus());
+        assertEquals("\"1-org1-7-gzip\"", response.getHeader(HttpHeaders.ETAG));
+        assertTrue(response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    private static boolean notModified(String ifNoneMatch, String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/constitution");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return DocumentResponses.checkNotModified(new ServletWebRequest(request, new MockHttpServletResponse()),
+                "\"1-org1-7\"", acceptEncoding);
+    }
+}
@@ -0,0 +1,100 @@
+package com.veteranapp.backend.controller;
+
+import com.veteranapp.backend.model.Member;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers /hosting/mark-payment and /members from many threads at once and checks
+ * that readers always see complete member lists and writers' last updates stick.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MemberPaymentConcurrencyTest {
+
+    private static final List<String> ORG1_MEMBER_IDS = List.of("1", "2", "3", "4", "5", "6", "7", "8", "9", "10");
+    private static final int ITERATIONS = 100;
+    private static final int READERS = 8;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void concurrentPaymentUpdatesAndReadsStayConsistent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(ORG1_MEMBER_IDS.size() + READERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger failedWrites = new AtomicInteger();
+        AtomicInteger tornReads = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // One writer per member, so each member's final state is known
+        for (String memberId : ORG1_MEMBER_IDS) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    if (!markPayment(memberId, i % 2 == 0)) {
+                        failedWrites.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        for (int r = 0; r < READERS; r++) {
+            String organizationId = r % 2 == 0 ? "org1" : "org2";
+            int expectedSize = "org1".equals(organizationId) ? 10 : 2;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    Member[] members = getMembers(organizationId);
+                    if (members == null || members.length != expectedSize
+                            || Arrays.stream(members).anyMatch(m -> m.getIsPaid() == null
+                                    || !organizationId.equals(m.getOrganizationId()))) {
+                        tornReads.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertEquals(0, failedWrites.get());
+        assertEquals(0, tornReads.get());
+
+        // The last iteration of every writer marks its member as unpaid
+        boolean lastValue = (ITERATIONS - 1) % 2 == 0;
+        for (Member member : getMembers("org1")) {
+            assertEquals(lastValue, member.getIsPaid(), "member " + member.getId());
+        }
+    }
+
+    private boolean markPayment(String memberId, boolean isPaid) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("memberId", memberId);
+        body.put("organizationId", "org1");
+        body.put("isPaid", isPaid);
+        ResponseEntity<Map> response = restTemplate.postForEntity("/hosting/mark-payment", body, Map.class);
+        return response.getStatusCode() == HttpStatus.OK;
+    }
+
+    private Member[] getMembers(String organizationId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Organization-ID", organizationId);
+        ResponseEntity<Member[]> response = restTemplate.exchange(
+                "/members", HttpMethod.GET, new HttpEntity<>(headers), Member[].class);
+        return response.getStatusCode() == HttpStatus.OK ? response.getBody() : null;
+    }
+}
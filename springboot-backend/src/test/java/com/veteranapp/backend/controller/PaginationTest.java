@@ -0,0 +1,71 @@
+package com.veteranapp.backend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pages through /members and checks page boundaries and the cursors that are rejected.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PaginationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void pagesCoverTheRosterOnce() {
+        List<Object> ids = new ArrayList<>();
+        String after = null;
+        List<Integer> sizes = new ArrayList<>();
+        do {
+            ResponseEntity<Map> page = get("/members?limit=4" + (after == null ? "" : "&after=" + after), "org1");
+            assertEquals(HttpStatus.OK, page.getStatusCode());
+            List<Map<String, Object>> items = (List<Map<String, Object>>) page.getBody().get("items");
+            items.forEach(item -> ids.add(item.get("id")));
+            sizes.add(items.size());
+            after = (String) page.getBody().get("nextCursor");
+            assertEquals(after != null, page.getBody().get("hasMore"));
+        } while (after != null);
+
+        assertEquals(List.of(4, 4, 2), sizes);
+        assertEquals(List.of("1", "2", "3", "4", "5", "6", "7", "8", "9", "10"), ids);
+    }
+
+    @Test
+    void exactlyFullPageHasNoMore() {
+        ResponseEntity<Map> page = get("/members?limit=10", "org1");
+        assertEquals(false, page.getBody().get("hasMore"));
+        assertNull(page.getBody().get("nextCursor"));
+    }
+
+    @Test
+    void rejectsInvalidCursors() {
+        String cursor = (String) get("/members?limit=1", "org1").getBody().get("nextCursor");
+        assertEquals(HttpStatus.OK, get("/members?after=" + cursor, "org1").getStatusCode());
+
+        // Issued for another organization or listing
+        assertEquals(HttpStatus.BAD_REQUEST, get("/members?after=" + cursor, "org2").getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, get("/news?after=" + cursor, "org1").getStatusCode());
+        // Malformed or from an earlier run
+        assertEquals(HttpStatus.BAD_REQUEST, get("/members?after=not-a-cursor!", "org1").getStatusCode());
+        String stale = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("members:0:org1:1".getBytes(StandardCharsets.UTF_8));
+        assertEquals(HttpStatus.BAD_REQUEST, get("/members?after=" + stale, "org1").getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, get("/members?limit=0", "org1").getStatusCode());
+    }
+
+    private ResponseEntity<Map> get(String path, String organizationId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Organization-ID", organizationId);
+        return restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), Map.class);
+    }
+}
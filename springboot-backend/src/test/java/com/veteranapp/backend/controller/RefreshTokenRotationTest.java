@@ -0,0 +1,58 @@
+package com.veteranapp.backend.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that refresh tokens work once at /auth/refresh and never as bearer tokens.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class RefreshTokenRotationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @BeforeEach
+    void readUnauthorizedPostResponses() {
+        // The default JDK URLConnection client cannot read a 401 response to a POST
+        restTemplate.getRestTemplate().setRequestFactory(new JdkClientHttpRequestFactory());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rotatedRefreshTokenIsRejectedEverywhere() {
+        Map<String, Object> login = restTemplate.postForObject("/auth/login",
+                Map.of("username", "janedoe", "password", "password123"), Map.class);
+        String refreshToken = (String) login.get("refreshToken");
+
+        ResponseEntity<Map> refreshed = restTemplate.postForEntity("/auth/refresh",
+                Map.of("refreshToken", refreshToken), Map.class);
+        assertEquals(HttpStatus.OK, refreshed.getStatusCode());
+        String accessToken = (String) refreshed.getBody().get("accessToken");
+        String rotatedRefreshToken = (String) refreshed.getBody().get("refreshToken");
+
+        assertEquals(HttpStatus.UNAUTHORIZED, restTemplate.postForEntity("/auth/refresh",
+                Map.of("refreshToken", refreshToken), Map.class).getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, getOrganizations(refreshToken));
+        assertEquals(HttpStatus.UNAUTHORIZED, getOrganizations(rotatedRefreshToken));
+        assertEquals(HttpStatus.OK, getOrganizations(accessToken));
+        assertEquals(HttpStatus.UNAUTHORIZED, restTemplate.postForEntity("/auth/refresh",
+                Map.of("refreshToken", accessToken), Map.class).getStatusCode());
+    }
+
+    private HttpStatusCode getOrganizations(String bearerToken) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(bearerToken);
+        return restTemplate.exchange("/auth/organizations", HttpMethod.GET, new HttpEntity<>(headers), Map.class)
+                .getStatusCode();
+    }
+}
@@ -0,0 +1,67 @@
+package com.veteranapp.backend.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrganizationTagBucketerTest {
+
+    private static final long MINUTE = 60_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void promotesKnownOrganizationsOnly() {
+        OrganizationTagBucketer bucketer = new OrganizationTagBucketer(Set.of("org1", "org2")::contains,
+                2, 100, 100, 60000, clock::get);
+
+        assertEquals("org1", bucketer.bucket("org1"));
+        assertEquals(OrganizationTagBucketer.OTHER, bucketer.bucket("made-up"));
+        assertEquals(OrganizationTagBucketer.NONE, bucketer.bucket(null));
+        assertEquals("org1", bucketer.tagOf("org1"));
+        assertEquals(OrganizationTagBucketer.OTHER, bucketer.tagOf("org2"));
+        assertEquals("org2", bucketer.bucket("org2"));
+    }
+
+    @Test
+    void followsLoadAsCountsDecay() {
+        OrganizationTagBucketer bucketer = new OrganizationTagBucketer(id -> true, 1, 100, 100, 60000, clock::get);
+        assertEquals("org1", bucketer.bucket("org1"));
+        for (int i = 0; i < 10; i++) {
+            assertEquals(OrganizationTagBucketer.OTHER, bucketer.bucket("org2"));
+        }
+
+        clock.addAndGet(MINUTE);
+        assertEquals("org2", bucketer.bucket("org2"));
+        assertEquals(OrganizationTagBucketer.OTHER, bucketer.tagOf("org1"));
+
+        // Counts halve every minute, so org2's lead is gone once org1 is busy again
+        clock.addAndGet(MINUTE);
+        for (int i = 0; i < 20; i++) {
+            bucketer.bucket("org1");
+        }
+        clock.addAndGet(MINUTE);
+        assertEquals("org1", bucketer.bucket("org1"));
+    }
+
+    @Test
+    void capsTheTagValuesEverEmitted() {
+        OrganizationTagBucketer bucketer = new OrganizationTagBucketer(id -> true, 1, 100, 2, 60000, clock::get);
+        for (int round = 1; round <= 4; round++) {
+            String organization = "org" + round;
+            for (int i = 0; i < 10 * round; i++) {
+                bucketer.bucket(organization);
+            }
+            clock.addAndGet(MINUTE);
+            bucketer.bucket(organization);
+        }
+
+        // org1 and org2 used up the cap, so the busier org3 and org4 are never tagged
+        assertEquals(OrganizationTagBucketer.OTHER, bucketer.tagOf("org3"));
+        assertEquals(OrganizationTagBucketer.OTHER, bucketer.tagOf("org4"));
+        assertEquals("org2", bucketer.bucket("org2"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.veteranapp.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordVerifierTest {
+
+    @Test
+    void checksHashedAndLegacyPasswords() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        PasswordVerifier verifier = new PasswordVerifier(encoder, 2, 8);
+        try {
+            String hash = encoder.encode("password123");
+            assertTrue(verifier.verify("password123", hash).join());
+            assertFalse(verifier.verify("wrong", hash).join());
+            assertFalse(verifier.verify("password123", null).join());
+            assertTrue(verifier.verify("admin123", "admin123").join());
+            assertFalse(verifier.verify("admin", "admin123").join());
+        } finally {
+            verifier.shutdown();
+        }
+    }
+
+    @Test
+    void rehashesPlainTextAndOtherStrengths() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(5);
+        PasswordVerifier verifier = new PasswordVerifier(encoder, 2, 8);
+        try {
+            assertTrue(verifier.needsRehash("admin123"));
+            assertTrue(verifier.needsRehash(new BCryptPasswordEncoder(4).encode("admin123")));
+            assertFalse(verifier.needsRehash(encoder.encode("admin123")));
+
+            CompletableFuture<String> stored = new CompletableFuture<>();
+            verifier.rehashIfNeeded("admin123", "admin123", stored::complete);
+            String hash = stored.orTimeout(5, TimeUnit.SECONDS).join();
+            assertFalse(verifier.needsRehash(hash));
+            assertTrue(verifier.verify("admin123", hash).join());
+        } finally {
+            verifier.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsChecksBeyondThePoolAndQueue() {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return "$2a$04$" + "a".repeat(53);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        PasswordVerifier verifier = new PasswordVerifier(blocking, 1, 1);
+        try {
+            String hash = blocking.encode("x");
+            verifier.verify("x", hash);
+            verifier.verify("x", hash);
+            assertThrows(RejectedExecutionException.class, () -> verifier.verify("x", hash));
+            release.countDown();
+        } finally {
+            verifier.shutdown();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.veteranapp.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshTokenRegistryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void revokesEachTokenOnce() {
+        RefreshTokenRegistry registry = new RefreshTokenRegistry(null, 1000);
+        String tokenId = UUID.randomUUID().toString();
+        Instant expiration = Instant.now().plus(1, ChronoUnit.DAYS);
+
+        assertFalse(registry.isRevoked(tokenId));
+        assertTrue(registry.revoke(tokenId, expiration));
+        assertFalse(registry.revoke(tokenId, expiration));
+        assertTrue(registry.isRevoked(tokenId));
+        assertFalse(registry.isRevoked(UUID.randomUUID().toString()));
+    }
+
+    @Test
+    void keepsUnexpiredRevocationsAcrossRestarts() throws Exception {
+        Path file = directory.resolve("revoked-refresh-tokens.bin");
+        String live = UUID.randomUUID().toString();
+        String expired = UUID.randomUUID().toString();
+
+        RefreshTokenRegistry registry = new RefreshTokenRegistry(file, 1000);
+        registry.revoke(live, Instant.now().plus(1, ChronoUnit.DAYS));
+        registry.revoke(expired, Instant.now().minusSeconds(1));
+        registry.close();
+
+        RefreshTokenRegistry restarted = new RefreshTokenRegistry(file, 1000);
+        try {
+            assertTrue(restarted.isRevoked(live));
+            assertFalse(restarted.isRevoked(expired));
+            assertEquals(1, restarted.size());
+            // Magic plus one 24-byte record after compaction
+            assertEquals(4 + 24, Files.size(file));
+        } finally {
+            restarted.close();
+        }
+    }
+
+    @Test
+    void filterHasNoFalseNegativesAndFewFalsePositives() {
+        RefreshTokenRegistry.BloomFilter filter = new RefreshTokenRegistry.BloomFilter(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("added-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("added-" + i));
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
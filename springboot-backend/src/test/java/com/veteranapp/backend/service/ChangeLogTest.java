@@ -0,0 +1,52 @@
+package com.veteranapp.backend.service;
+
+import com.veteranapp.backend.model.Member;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeLogTest {
+
+    @Test
+    void returnsLatestStateOfEachChangedMember() {
+        DataService dataService = new DataService();
+        long start = dataService.getOrganizationVersion("org1");
+        dataService.updateMemberPayment("1", "org1", false);
+        dataService.addMembers(List.of(new Member("m-new", "org1", "New Member", "Queens, NY", false, "active",
+                "Member", "Army")));
+        dataService.updateMemberPayment("1", "org1", true);
+
+        ChangeLog.Changes changes = dataService.getChangesSince("org1", start);
+        assertTrue(changes.isComplete());
+        assertEquals(dataService.getOrganizationVersion("org1"), changes.getVersion());
+        assertEquals(changes.getVersion(), dataService.getChangeLogVersion("org1"));
+        assertEquals(0, dataService.getChangeLogVersion("org2"));
+        assertEquals(List.of("m-new", "1"),
+                changes.getChanges().stream().map(ChangeLog.Change::getId).collect(Collectors.toList()));
+        assertTrue(((Member) changes.getChanges().get(1).getEntity()).getIsPaid());
+
+        ChangeLog.Changes upToDate = dataService.getChangesSince("org1", changes.getVersion());
+        assertTrue(upToDate.isComplete());
+        assertTrue(upToDate.getChanges().isEmpty());
+        assertTrue(dataService.getChangesSince("org2", start).getChanges().isEmpty());
+    }
+
+    @Test
+    void asksForFullResyncOnceChangesAreDropped() {
+        DataService dataService = new DataService();
+        dataService.setChangeLogMaxEntries(2);
+        long start = dataService.getOrganizationVersion("org1");
+        dataService.updateMemberPayment("1", "org1", false);
+        long afterFirst = dataService.getOrganizationVersion("org1");
+        dataService.updateMemberPayment("2", "org1", false);
+        dataService.updateMemberPayment("3", "org1", true);
+
+        assertFalse(dataService.getChangesSince("org1", start).isComplete());
+        assertEquals(2, dataService.getChangesSince("org1", afterFirst).getChanges().size());
+        // A version this run never issued
+        assertFalse(dataService.getChangesSince("org1", afterFirst + 100).isComplete());
+    }
+}
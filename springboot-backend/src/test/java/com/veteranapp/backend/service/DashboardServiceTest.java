@@ -0,0 +1,97 @@
+package com.veteranapp.backend.service;
+
+import com.veteranapp.backend.dto.DashboardResponse;
+import com.veteranapp.backend.model.Meeting;
+import com.veteranapp.backend.model.News;
+import com.veteranapp.backend.model.Official;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DashboardServiceTest {
+
+    @Test
+    void returnsAllSectionsWhenTheyAreFast() {
+        DashboardService dashboard = new DashboardService(new DataService(), 1000, 4, 32, false);
+        try {
+            DashboardResponse response = dashboard.getDashboard("org1");
+            assertFalse(response.getNews().isEmpty());
+            assertFalse(response.getOfficials().isEmpty());
+            assertFalse(response.getMeetings().isEmpty());
+            assertNotNull(response.getHosting());
+            assertNotNull(response.getSoccerMatch());
+            assertTrue(response.getUnavailableSections().isEmpty());
+        } finally {
+            dashboard.shutdown();
+        }
+    }
+
+    @Test
+    void leavesOutSlowAndFailingSections() {
+        DataService dataService = new DataService() {
+            @Override
+            public List<Official> getOfficialsByOrganization(String organizationId) {
+                try {
+                    Thread.sleep(5000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getOfficialsByOrganization(organizationId);
+            }
+
+            @Override
+            public List<Meeting> getMeetingsByOrganization(String organizationId) {
+                throw new IllegalStateException("meetings unavailable");
+            }
+        };
+        DashboardService dashboard = new DashboardService(dataService, 200, 4, 32, false);
+        try {
+            long started = System.nanoTime();
+            DashboardResponse response = dashboard.getDashboard("org1");
+            long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+            assertTrue(elapsedMillis < 2000, "slow section held the response for " + elapsedMillis + " ms");
+            assertEquals(Map.of("officials", DashboardService.TIMEOUT, "meetings", DashboardService.ERROR),
+                    response.getUnavailableSections());
+            assertNull(response.getOfficials());
+            assertNull(response.getMeetings());
+            assertFalse(response.getNews().isEmpty());
+            assertNotNull(response.getSoccerMatch());
+        } finally {
+            dashboard.shutdown();
+        }
+    }
+
+    @Test
+    void cancelsTimedOutSectionsAndRejectsBeyondTheQueue() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        DataService dataService = new DataService() {
+            @Override
+            public List<News> getNewsByOrganization(String organizationId) {
+                try {
+                    Thread.sleep(5000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return super.getNewsByOrganization(organizationId);
+            }
+        };
+        // One thread runs news and one section waits, so the other three are rejected
+        DashboardService dashboard = new DashboardService(dataService, 200, 1, 1, false);
+        try {
+            DashboardResponse response = dashboard.getDashboard("org1");
+
+            assertEquals(DashboardService.TIMEOUT, response.getUnavailableSections().get("news"));
+            assertEquals(3, response.getUnavailableSections().values().stream()
+                    .filter(DashboardService.REJECTED::equals).count());
+            assertTrue(interrupted.await(2, TimeUnit.SECONDS), "timed-out section was not interrupted");
+        } finally {
+            dashboard.shutdown();
+        }
+    }
+}
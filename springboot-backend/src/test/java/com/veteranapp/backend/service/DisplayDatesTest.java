@@ -0,0 +1,33 @@
+package com.veteranapp.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DisplayDatesTest {
+
+    @Test
+    void parsesDisplayAndIsoDates() {
+        int day = (int) LocalDate.of(2026, 3, 5).toEpochDay();
+        assertEquals(day, DisplayDates.toEpochDay("Mar 5, 2026"));
+        assertEquals(day, DisplayDates.toEpochDay("Mar 05, 2026"));
+        assertEquals(day, DisplayDates.toEpochDay("2026-03-05"));
+        assertEquals(LocalDate.of(2024, 2, 29).toEpochDay(), DisplayDates.toEpochDay("Feb 29, 2024"));
+        assertEquals(LocalDate.of(2025, 12, 31).toEpochDay(), DisplayDates.toEpochDay("Dec 31, 2025"));
+    }
+
+    @Test
+    void leavesOutWhatIsNotADate() {
+        assertEquals(DisplayDates.UNKNOWN, DisplayDates.toEpochDay(null));
+        assertEquals(DisplayDates.UNKNOWN, DisplayDates.toEpochDay(""));
+        assertEquals(DisplayDates.UNKNOWN, DisplayDates.toEpochDay("TBD"));
+        assertEquals(DisplayDates.UNKNOWN, DisplayDates.toEpochDay("Feb 29, 2026"));
+        assertEquals(DisplayDates.UNKNOWN, DisplayDates.toEpochDay("March 5, 2026"));
+        assertEquals(DisplayDates.UNKNOWN, DisplayDates.toEpochDay("mar 5, 2026"));
+        assertEquals(DisplayDates.UNKNOWN, DisplayDates.toEpochDay("Mar 5 2026"));
+        assertEquals(DisplayDates.UNKNOWN, DisplayDates.toEpochDay("2026-13-01"));
+        assertEquals(DisplayDates.UNKNOWN, DisplayDates.toEpochDay("2026/03/05"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.veteranapp.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veteranapp.backend.dto.MatchEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchEventBusTest {
+
+    @Test
+    void deliversToReadersWhileAnEvictedSubscriberIsStuckWriting() throws InterruptedException {
+        // One dispatcher thread, so a single stuck write would starve everyone without a replacement
+        MatchEventBus bus = new MatchEventBus(new ObjectMapper(), 4, 1, 100, 2, false);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(1);
+        RecordingSink reader = new RecordingSink();
+        try {
+            bus.subscribe(new MatchEventSink() {
+                @Override
+                public void send(long id, String type, String json) {
+                    try {
+                        // A client that has stopped reading
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+
+                @Override
+                public void complete() {
+                    completed.countDown();
+                }
+            }, "start");
+            // Overflows the stuck subscriber's buffer, evicting it long before the write timeout
+            for (int i = 0; i < 5; i++) {
+                bus.publish(new MatchEvent("goal", i));
+            }
+            assertEquals(0, bus.getSubscriberCount());
+
+            bus.subscribe(reader, "start");
+            bus.publish(new MatchEvent("score", 1));
+            bus.publish(new MatchEvent("score", 2));
+
+            assertTrue(reader.received.await(2, TimeUnit.SECONDS), "reader starved behind the stuck write");
+            assertEquals(List.of("snapshot", "score", "score"), reader.types);
+
+            release.countDown();
+            assertTrue(completed.await(2, TimeUnit.SECONDS), "evicted subscriber was not completed");
+        } finally {
+            release.countDown();
+            bus.shutdown();
+        }
+    }
+
+    private static final class RecordingSink implements MatchEventSink {
+        private final List<String> types = new CopyOnWriteArrayList<>();
+        private final CountDownLatch received = new CountDownLatch(3);
+
+        @Override
+        public void send(long id, String type, String json) {
+            types.add(type);
+            received.countDown();
+        }
+
+        @Override
+        public void complete() {
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.veteranapp.backend.service;
+
+import com.veteranapp.backend.dto.LeaderboardEntry;
+import com.veteranapp.backend.model.SoccerMatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchHistoryStoreTest {
+
+    @Test
+    void ranksPlayersAndTeamsAcrossMatches() {
+        MatchHistoryStore store = new MatchHistoryStore();
+        store.append(match("Mar 1, 2026", "Lions", "Tigers", List.of(goal("Ann", "Home"), goal("Ann", "Home"),
+                goal("Bob", "Away"))));
+        store.append(match("Mar 8, 2026", "Tigers", "Lions", List.of(goal("Bob", "Home"))));
+
+        assertEquals(List.of(new LeaderboardEntry("Ann", 2L), new LeaderboardEntry("Bob", 2L)),
+                store.topPlayers("goals", 10));
+        assertEquals(List.of(new LeaderboardEntry("Lions", 1L), new LeaderboardEntry("Tigers", 1L)),
+                store.topTeams("wins", 10));
+        assertEquals(List.of(new LeaderboardEntry("Lions", 2L)), store.topTeams("matches", 1));
+        assertNull(store.topPlayers("saves", 10));
+    }
+
+    @Test
+    void replacingTheSameFixtureSubtractsTheEarlierEntry() {
+        MatchHistoryStore store = new MatchHistoryStore();
+        store.append(match("Mar 1, 2026", "Lions", "Tigers", List.of(goal("Ann", "Home"), goal("Bob", "Away"))));
+        // A correction: Bob's goal was disallowed
+        store.append(match("Mar 1, 2026", "Lions", "Tigers", List.of(goal("Ann", "Home"))));
+
+        assertEquals(1, store.getMatches().size());
+        assertEquals(List.of(new LeaderboardEntry("Ann", 1L)), store.topPlayers("goals", 10));
+        assertEquals(List.of(new LeaderboardEntry("Lions", 1L)), store.topTeams("wins", 10));
+        // Totals brought back to zero drop off the boards
+        assertEquals(List.of(), store.topTeams("draws", 10));
+        assertEquals(List.of(new LeaderboardEntry("Tigers", 1L)), store.topTeams("goals-against", 10));
+    }
+
+    private static SoccerMatch match(String day, String home, String away, List<SoccerMatch.Goal> goals) {
+        int homeScore = (int) goals.stream().filter(goal -> SoccerMatch.HOME.equals(goal.getTeam())).count();
+        return new SoccerMatch(day, home, away, homeScore, goals.size() - homeScore, "Ref", null, null,
+                new ArrayList<>(goals), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), true);
+    }
+
+    private static SoccerMatch.Goal goal(String player, String team) {
+        return new SoccerMatch.Goal(player, "10'", team);
+    }
+}
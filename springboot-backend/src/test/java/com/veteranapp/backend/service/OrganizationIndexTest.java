@@ -0,0 +1,62 @@
+package com.veteranapp.backend.service;
+
+import com.veteranapp.backend.model.Meeting;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrganizationIndexTest {
+
+    private final OrganizationIndex<Meeting> index = new OrganizationIndex<>(Meeting::getOrganizationId,
+            Meeting::getId, meeting -> DisplayDates.toEpochDay(meeting.getDate()));
+
+    @Test
+    void returnsInclusiveRangesNewestFirst() {
+        index.addAll(List.of(meeting("a", "Mar 1, 2026"), meeting("b", "2026-03-15"), meeting("c", "TBD"),
+                meeting("d", "Mar 15, 2026"), meeting("e", "Apr 1, 2026"), meeting("f", null)));
+
+        assertEquals(List.of("b", "d"), ids(index.between("org1", day("2026-03-15"), day("2026-03-15"))));
+        assertEquals(List.of("e", "b", "d", "a"), ids(index.between("org1", day("2026-03-01"), day("2026-04-01"))));
+        assertEquals(List.of("b", "d"), ids(index.between("org1", day("2026-03-02"), day("2026-03-31"))));
+        assertEquals(List.of(), ids(index.between("org1", day("2026-04-02"), day("2026-05-01"))));
+        assertEquals(List.of(), ids(index.between("org1", day("2026-04-01"), day("2026-03-01"))));
+        assertEquals(List.of(), ids(index.between("org2", day("2026-01-01"), day("2026-12-31"))));
+    }
+
+    @Test
+    void openBoundsLeaveOutUndatedEntities() {
+        index.addAll(List.of(meeting("a", "Jan 10, 2026"), meeting("b", "TBD"), meeting("c", "Feb 10, 2026")));
+
+        assertEquals(List.of("c", "a"), ids(index.between("org1", DisplayDates.UNKNOWN + 1, Long.MAX_VALUE)));
+        assertEquals(List.of("a"), ids(index.between("org1", DisplayDates.UNKNOWN + 1, day("2026-01-31"))));
+    }
+
+    @Test
+    void followsUpdatesAndReplacements() {
+        index.addAll(List.of(meeting("a", "Jan 10, 2026"), meeting("b", "TBD")));
+        assertEquals(List.of("a"), ids(index.between("org1", day("2026-01-01"), day("2026-12-31"))));
+
+        index.update("org1", "b", meeting -> meeting("b", "Mar 1, 2026"));
+        index.add(meeting("a", "Jun 1, 2026"));
+        index.add(meeting("c", "Feb 1, 2026"));
+
+        assertEquals(List.of("a", "b", "c"), ids(index.between("org1", day("2026-01-01"), day("2026-12-31"))));
+        assertEquals(List.of(), ids(index.between("org1", day("2026-01-10"), day("2026-01-10"))));
+    }
+
+    private static Meeting meeting(String id, String date) {
+        return new Meeting(id, "org1", "Meeting " + id, date, null, null, null, null, null);
+    }
+
+    private static long day(String isoDate) {
+        return LocalDate.parse(isoDate).toEpochDay();
+    }
+
+    private static List<String> ids(List<Meeting> meetings) {
+        return meetings.stream().map(Meeting::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,70 @@
+package com.veteranapp.backend.service;
+
+import com.veteranapp.backend.dto.SearchHit;
+import com.veteranapp.backend.model.Constitution;
+import com.veteranapp.backend.model.Meeting;
+import com.veteranapp.backend.model.News;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+
+    private final Constitution constitution = new Constitution("org1", "Veterans United", List.of(
+            new Constitution.Article("Article II: Membership", List.of(
+                    new Constitution.Section("2.1", "Membership is open to all honorably discharged veterans."),
+                    new Constitution.Section("2.2", "Annual dues shall be determined by the general assembly.")))),
+            "Jan 15, 2020", "Dec 10, 2025");
+
+    @Test
+    void ranksTitleAndRepeatedMatchesFirst() {
+        SearchIndex index = new SearchIndex();
+        List<News> news = List.of(
+                new News("org1", "Dues reminder", "Annual dues are payable by March", "Mar 01, 2026", "Announcement", null),
+                new News("org1", "Gala dinner", "Tickets include dinner; dues not required", "Mar 15, 2026", "Event", null),
+                new News("org1", "Parade", "Parade planning", "Mar 20, 2026", "Event", null));
+        index.update(constitution, news, List.of());
+
+        List<SearchHit> hits = index.search("Dues", 10);
+        assertEquals(3, hits.size());
+        assertEquals("Dues reminder", hits.get(0).getTitle());
+        assertTrue(hits.stream().anyMatch(hit -> "2.2".equals(hit.getId()) && SearchIndex.CONSTITUTION.equals(hit.getType())));
+        assertTrue(index.search("parade", 10).stream().allMatch(hit -> hit.getTitle().equals("Parade")));
+        // Plurals and case fold to the same term
+        assertEquals("2.1", index.search("MEMBERSHIPS veteran", 1).get(0).getId());
+        assertTrue(index.search("the of and", 10).isEmpty());
+    }
+
+    @Test
+    void updatesIncrementallyAsDocumentsAreReplaced() {
+        SearchIndex index = new SearchIndex();
+        Meeting budget = new Meeting("1", "org1", "Budget review", "Feb 12, 2026", "Hall", 10,
+                "The treasurer presented the budget.", List.of(), List.of());
+        index.update(null, List.of(), List.of(budget));
+        assertEquals("1", index.search("treasurer", 5).get(0).getId());
+
+        Meeting amended = new Meeting("1", "org1", "Budget review", "Feb 12, 2026", "Hall", 10,
+                "The secretary presented the budget.", List.of(), List.of());
+        index.update(null, List.of(), List.of(amended));
+        assertTrue(index.search("treasurer", 5).isEmpty());
+        assertEquals(1, index.search("secretary", 5).size());
+        assertEquals(1, index.size());
+
+        // Enough replacements to trigger compaction, which must keep results intact
+        List<Meeting> meetings = new ArrayList<>();
+        for (int round = 0; round < 5; round++) {
+            meetings = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                meetings.add(new Meeting(String.valueOf(i), "org1", "Meeting " + i, "Feb 12, 2026", "Hall", 10,
+                        "Round " + round + " minutes mention topic" + i, List.of(), List.of()));
+            }
+            index.update(constitution, List.of(), meetings);
+        }
+        assertEquals(52, index.size());
+        assertEquals("17", index.search("topic17", 5).get(0).getId());
+        assertEquals(50, index.search("minutes", 100).size());
+    }
+}
@@ -0,0 +1,70 @@
+package com.veteranapp.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veteranapp.backend.model.SoccerMatch;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SoccerMatchLifecycleTest {
+
+    @Test
+    void finishedMatchTakesNoEventsUntilANewOneStarts() {
+        DataService dataService = new DataService();
+        MatchEventBus eventBus = new MatchEventBus(new ObjectMapper(), 64, 1, 2000, 4, false);
+        ReflectionTestUtils.setField(dataService, "matchEventBus", eventBus);
+        try {
+            playMatches(dataService);
+        } finally {
+            eventBus.shutdown();
+        }
+    }
+
+    @Test
+    void rematchEqualToAScorelessMatchIsInProgress() {
+        DataService dataService = new DataService();
+        MatchEventBus eventBus = new MatchEventBus(new ObjectMapper(), 64, 1, 2000, 4, false);
+        ReflectionTestUtils.setField(dataService, "matchEventBus", eventBus);
+        try {
+            SoccerMatch details = details();
+            assertNotNull(dataService.startMatch(details));
+            assertTrue(dataService.finishCurrentMatch().getFinished());
+
+            // Equal in every field to the 0-0 match just finished, but not finished itself
+            SoccerMatch rematch = dataService.startMatch(details);
+            assertFalse(rematch.getFinished());
+            assertNotNull(dataService.recordGoal(new SoccerMatch.Goal("A", "1'", SoccerMatch.HOME)));
+            assertNotNull(dataService.finishCurrentMatch());
+        } finally {
+            eventBus.shutdown();
+        }
+    }
+
+    private static SoccerMatch details() {
+        SoccerMatch details = new SoccerMatch();
+        details.setMatchDay("Mar 1, 2026");
+        details.setHomeTeam("Veterans FC");
+        details.setAwayTeam("Heroes United");
+        return details;
+    }
+
+    private static void playMatches(DataService dataService) {
+        SoccerMatch details = details();
+
+        // The sample match has already been played
+        assertNull(dataService.recordGoal(new SoccerMatch.Goal("A", "1'", SoccerMatch.HOME)));
+        assertNull(dataService.finishCurrentMatch());
+
+        SoccerMatch started = dataService.startMatch(details);
+        assertNotNull(started);
+        assertEquals(0, started.getHomeScore());
+        assertNull(dataService.startMatch(details));
+
+        SoccerMatch scored = dataService.recordGoal(new SoccerMatch.Goal("A", "1'", SoccerMatch.AWAY));
+        assertEquals(1, scored.getAwayScore());
+        assertNotNull(dataService.finishCurrentMatch());
+        assertNull(dataService.recordCard(new SoccerMatch.Card("A", "2'", SoccerMatch.HOME, "foul"), false));
+        assertEquals(2, dataService.getSoccerHistory().size());
+    }
+}
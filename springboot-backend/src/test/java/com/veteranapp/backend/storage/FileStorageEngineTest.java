@@ -0,0 +1,192 @@
+package com.veteranapp.backend.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veteranapp.backend.model.Member;
+import com.veteranapp.backend.model.Organization;
+import com.veteranapp.backend.service.DataService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileStorageEngineTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void replaysLoggedWritesAfterCrash() {
+        FileStorageEngine engine = newEngine(10000);
+        DataService dataService = open(engine);
+        dataService.addOrganizations(List.of(new Organization("org9", "Liberty Post", "Boston, MA")));
+        dataService.addMembers(List.of(new Member("900", "org9", "Ann Lee", "Boston, MA", false, "active", "Member", "U.S. Navy")));
+        assertTrue(dataService.updateMemberPayment("900", "org9", true));
+        assertTrue(dataService.updateMemberPayment("1", "org1", false));
+        // No shutdown snapshot: the restart has to replay the log
+        engine.close();
+
+        DataService restored = open(newEngine(10000));
+        assertTrue(restored.getOrganizationById("org9").isPresent());
+        assertEquals(Boolean.TRUE, restored.getMemberById("900", "org9").orElseThrow().getIsPaid());
+        assertEquals(Boolean.FALSE, restored.getMemberById("1", "org1").orElseThrow().getIsPaid());
+    }
+
+    @Test
+    void restoresFromSnapshotAndDropsOldLogSegments() throws IOException {
+        FileStorageEngine engine = newEngine(5);
+        DataService dataService = open(engine);
+        List<Member> added = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            added.add(new Member("m" + i, "org" + (i % 3 + 1), "Member " + i, "Austin, TX", false, "active", "Member", "U.S. Army"));
+        }
+        dataService.addMembers(added);
+        for (int i = 0; i < 23; i++) {
+            dataService.updateMemberPayment("m" + i, "org" + (i % 3 + 1), true);
+        }
+        engine.close();
+
+        assertTrue(Files.exists(directory.resolve(FileStorageEngine.SNAPSHOT_FILE)));
+        // Segments before the latest snapshot are deleted once it is written
+        assertTrue(logSegments() <= 2, "old log segments should be deleted");
+
+        DataService restored = open(newEngine(5));
+        for (int i = 0; i < 100; i++) {
+            Member member = restored.getMemberById("m" + i, "org" + (i % 3 + 1)).orElseThrow();
+            assertEquals(i < 23, member.getIsPaid(), "payment of m" + i);
+        }
+        assertEquals(dataService.getMembersByOrganization("org1"), restored.getMembersByOrganization("org1"));
+    }
+
+    @Test
+    void ignoresTornRecordAtEndOfLog() throws IOException {
+        FileStorageEngine engine = newEngine(10000);
+        DataService dataService = open(engine);
+        dataService.updateMemberPayment("2", "org1", false);
+        engine.close();
+
+        Path lastSegment;
+        try (Stream<Path> files = Files.list(directory)) {
+            lastSegment = files.filter(path -> path.getFileName().toString().startsWith("wal-")).sorted()
+                    .reduce((first, second) -> second).orElseThrow();
+        }
+        // A crash in the middle of an append leaves a partial record behind
+        Files.write(lastSegment, new byte[]{0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        FileStorageEngine reopened = newEngine(10000);
+        DataService restored = open(reopened);
+        assertEquals(Boolean.FALSE, restored.getMemberById("2", "org1").orElseThrow().getIsPaid());
+        restored.updateMemberPayment("2", "org1", true);
+        reopened.close();
+
+        assertEquals(Boolean.TRUE, open(newEngine(10000)).getMemberById("2", "org1").orElseThrow().getIsPaid());
+    }
+
+    @Test
+    void snapshotRoundTripsEveryEntityLazilyAndEagerly() {
+        DataService original = new DataService();
+        FileStorageEngine engine = newEngine(10000);
+        DataService written = open(engine);
+        written.updateMemberPayment("1", "org1", false);
+        written.persist();
+        engine.close();
+
+        for (boolean lazy : new boolean[]{true, false}) {
+            FileStorageEngine reopened = new FileStorageEngine(directory, objectMapper, false, 10000, 2, lazy);
+            DataService restored = open(reopened);
+            assertEquals(original.getAllOrganizations(), restored.getAllOrganizations());
+            assertEquals(original.getCurrentSoccerMatch(), restored.getCurrentSoccerMatch());
+            assertEquals(original.getSoccerHistory(), restored.getSoccerHistory());
+            for (String organizationId : List.of("org1", "org2", "org3")) {
+                assertEquals(original.getOfficialsByOrganization(organizationId), restored.getOfficialsByOrganization(organizationId));
+                assertEquals(original.getNewsByOrganization(organizationId), restored.getNewsByOrganization(organizationId));
+                assertEquals(original.getMeetingsByOrganization(organizationId), restored.getMeetingsByOrganization(organizationId));
+                assertEquals(original.getConstitutionByOrganization(organizationId), restored.getConstitutionByOrganization(organizationId));
+            }
+            assertEquals(Boolean.FALSE, restored.getMemberById("1", "org1").orElseThrow().getIsPaid());
+            reopened.close();
+        }
+
+        // Only org1's members are decoded here; everything else is copied into the next snapshot still encoded
+        FileStorageEngine partial = newEngine(10000);
+        DataService untouched = open(partial);
+        untouched.updateMemberPayment("2", "org1", false);
+        untouched.persist();
+        partial.close();
+
+        DataService restored = open(newEngine(10000));
+        assertEquals(original.getMeetingsByOrganization("org1"), restored.getMeetingsByOrganization("org1"));
+        assertEquals(original.getOfficialsByOrganization("org2"), restored.getOfficialsByOrganization("org2"));
+        assertEquals(Boolean.FALSE, restored.getMemberById("1", "org1").orElseThrow().getIsPaid());
+        assertEquals(Boolean.FALSE, restored.getMemberById("2", "org1").orElseThrow().getIsPaid());
+    }
+
+    @Test
+    void concurrentWritesShareFlushesAndSurviveRestart() throws Exception {
+        FileStorageEngine engine = new FileStorageEngine(directory, objectMapper, true, 50, 2, true);
+        DataService dataService = open(engine);
+        List<Member> added = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            added.add(new Member("m" + i, "org" + (i % 4 + 1), "Member " + i, "Austin, TX", false, "active", "Member", "U.S. Army"));
+        }
+        dataService.addMembers(added);
+
+        // One writer per organization, with snapshots falling due while they run
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < 4; w++) {
+            String organizationId = "org" + (w + 1);
+            int first = w;
+            futures.add(writers.submit(() -> {
+                for (int round = 0; round < 25; round++) {
+                    for (int i = first; i < 40; i += 4) {
+                        assertTrue(dataService.updateMemberPayment("m" + i, organizationId, round % 2 == 0));
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        writers.shutdown();
+        engine.close();
+
+        DataService restored = open(newEngine(50));
+        for (int i = 0; i < 40; i++) {
+            // The last round (24) marks everyone as paid
+            assertEquals(Boolean.TRUE, restored.getMemberById("m" + i, "org" + (i % 4 + 1)).orElseThrow().getIsPaid());
+        }
+    }
+
+    private FileStorageEngine newEngine(int snapshotEvery) {
+        return new FileStorageEngine(directory, objectMapper, false, snapshotEvery, 2, true);
+    }
+
+    private static DataService open(StorageEngine engine) {
+        DataService dataService = new DataService();
+        ReflectionTestUtils.setField(dataService, "storage", engine);
+        dataService.recover();
+        return dataService;
+    }
+
+    private long logSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("wal-")).count();
+        }
+    }
+}